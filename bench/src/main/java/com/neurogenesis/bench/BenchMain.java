@@ -0,0 +1,31 @@
+package com.neurogenesis.bench;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Set;
+
+/**
+ * Entry point of benchmarks.jar: plain JMH command line, but with the GC
+ * profiler on by default so every result carries its allocation rate
+ * (gc.alloc.rate.norm = bytes per op). Pass -prof explicitly to override.
+ */
+public class BenchMain {
+    private static final Set<String> INFO_FLAGS = Set.of("-h", "-l", "-lp", "-lprof", "-lrf");
+
+    public static void main(String[] args) throws Exception {
+        for (String a : args) {
+            if (INFO_FLAGS.contains(a)) {
+                org.openjdk.jmh.Main.main(args);
+                return;
+            }
+        }
+        CommandLineOptions cli = new CommandLineOptions(args);
+        ChainedOptionsBuilder opts = new OptionsBuilder().parent(cli);
+        if (cli.getProfilers().isEmpty()) opts.addProfiler(GCProfiler.class);
+        new Runner(opts.build()).run();
+    }
+}
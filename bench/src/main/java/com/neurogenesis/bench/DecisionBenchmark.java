@@ -0,0 +1,55 @@
+package com.neurogenesis.bench;
+
+import com.neurogenesis.engine.CuriosityEngine;
+import com.neurogenesis.engine.DoorsScenario;
+import com.neurogenesis.model.NetworkBuilder;
+import com.neurogenesis.model.NeuralNetwork;
+import com.neurogenesis.model.Neuron;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/** Doors-mode decision path: output lookup, curiosity choice and scenario evaluation. */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DecisionBenchmark {
+
+    @Param({"3", "1000"})
+    int outputs;
+
+    private NeuralNetwork net;
+    private List<Neuron> outs;
+    private CuriosityEngine chooser;
+    private DoorsScenario scenario;
+    private Neuron chosen;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        net = new NetworkBuilder(TickBenchmark.SEED).neurons(outputs + 21).outputs(outputs).build();
+        outs = net.getOutputNeurons();
+        chooser = new CuriosityEngine();
+        scenario = new DoorsScenario();
+        scenario.setDoors(outs);
+        chosen = outs.get(0);
+    }
+
+    @Benchmark
+    public List<Neuron> outputNeurons() {
+        return net.getOutputNeurons();
+    }
+
+    @Benchmark
+    public CuriosityEngine.Choice choose() {
+        return chooser.choose(outs, 0.25);
+    }
+
+    @Benchmark
+    public DoorsScenario.Result evaluate() {
+        return scenario.evaluate(chosen);
+    }
+}
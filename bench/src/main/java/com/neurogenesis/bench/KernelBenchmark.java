@@ -0,0 +1,105 @@
+package com.neurogenesis.bench;
+
+import com.neurogenesis.model.Kernels;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Scalar vs. Vector API kernels for the Hebbian pass (D) over 10^6-10^8
+ * synapse weights and the firing decision (B) over 10^6-10^7 neurons, on
+ * flat arrays outside any network. About 10% of edges are co-active; the
+ * share of neurons that fire is a parameter, since the vector decide does
+ * scalar work for vectors with more than two firing lanes (see
+ * {@code VectorKernels}). Neither kernel allocates: run with -prof gc to see
+ * gc.alloc.rate.norm at JMH noise.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx4g", "--add-modules=jdk.incubator.vector"})
+public class KernelBenchmark {
+
+    static Kernels kernels(String name) {
+        Kernels k = "vector".equals(name) ? Kernels.vector() : Kernels.scalar();
+        if (k == null) throw new IllegalStateException("vector kernels unavailable: run with --add-modules=jdk.incubator.vector");
+        return k;
+    }
+
+    @State(Scope.Thread)
+    public static class Weights {
+        @Param({"1000000", "10000000", "100000000"})
+        int synapses;
+
+        @Param({"scalar", "vector"})
+        String kernel;
+
+        Kernels k;
+        double[] w;
+        boolean[] coActive;
+
+        @Setup(Level.Trial)
+        public void setup() {
+            k = kernels(kernel);
+            SplittableRandom rnd = new SplittableRandom(TickBenchmark.SEED);
+            w = new double[synapses];
+            coActive = new boolean[synapses];
+            for (int e = 0; e < synapses; e++) {
+                w[e] = 0.15 + rnd.nextDouble() * 0.3;
+                coActive[e] = rnd.nextDouble() < 0.10;
+            }
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Cells {
+        @Param({"1000000", "10000000"})
+        int neurons;
+
+        @Param({"0.02", "0.20"})
+        double firingRate;
+
+        @Param({"scalar", "vector"})
+        String kernel;
+
+        Kernels k;
+        boolean[] alive, fire;
+        double[] input, bias, gauss, logitThreshold, uniform;
+
+        @Setup(Level.Trial)
+        public void setup() {
+            k = kernels(kernel);
+            SplittableRandom rnd = new SplittableRandom(TickBenchmark.SEED);
+            alive = new boolean[neurons];
+            fire = new boolean[neurons];
+            input = new double[neurons];
+            bias = new double[neurons];
+            gauss = new double[neurons];
+            logitThreshold = new double[neurons];
+            uniform = new double[neurons];
+            double cut = Math.log(0.6 / 0.4);
+            for (int i = 0; i < neurons; i++) {
+                alive[i] = rnd.nextDouble() < 0.98;
+                input[i] = rnd.nextDouble() < firingRate ? 5.0 : -5.0; // far past the threshold either way
+                bias[i] = (rnd.nextDouble() - 0.5) * 0.3;
+                gauss[i] = rnd.nextGaussian();
+                logitThreshold[i] = cut;
+                uniform[i] = rnd.nextDouble();
+            }
+        }
+    }
+
+    @Benchmark
+    public double hebbian(Weights s) {
+        s.k.hebbian(s.w, s.coActive, 0.10, 0.01, 0.03, 1.8, 0, s.synapses);
+        return s.w[0];
+    }
+
+    @Benchmark
+    public int decide(Cells s) {
+        return s.k.decide(s.alive, s.input, s.bias, s.gauss, 0.35, s.logitThreshold, s.uniform, 0.0,
+                s.fire, 0, s.neurons);
+    }
+}
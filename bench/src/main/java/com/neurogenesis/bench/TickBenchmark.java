@@ -0,0 +1,108 @@
+package com.neurogenesis.bench;
+
+import com.neurogenesis.model.GrowthPolicy;
+import com.neurogenesis.model.NetworkBuilder;
+import com.neurogenesis.model.NeuralNetwork;
+import com.neurogenesis.model.TickPhases;
+import com.neurogenesis.model.TickStats;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.BenchmarkParams;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Full tick and each phase (A)-(F) in isolation, over network size,
+ * connectivity and firing rate. Networks come from {@link NetworkBuilder}
+ * with a fixed seed, so runs are comparable across versions.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx4g", "--add-modules=jdk.incubator.vector"})
+public class TickBenchmark {
+    static final long SEED = 20240801L;
+
+    @Param({"24", "1000", "100000"})
+    int neurons;
+
+    @Param({"4", "16"})
+    int fanOut;
+
+    @Param({"0.02", "0.20"})
+    double firingRate;
+
+    private NeuralNetwork net;
+    private GrowthPolicy growth;
+
+    @Setup(Level.Trial)
+    public void setup(BenchmarkParams params) {
+        net = new NetworkBuilder(SEED).neurons(neurons).fanOut(fanOut).firingRate(firingRate).build();
+        // the default policy (24 neurons, 3 synapses each) is already met by every network here
+        growth = params.getBenchmark().endsWith("phaseF_grow") ? new GrowthPolicy().setTargetSize(2 * neurons)
+                .setNeuronRate(1).setSynapseRate(16).setSynapsesPerNeuron(fanOut + 4) : null;
+        if (growth != null) net.setGrowthPolicy(growth);
+        for (int i = 0; i < 20; i++) net.tickNeuronOnly(); // settle into steady-state activity
+    }
+
+    @Benchmark
+    public TickStats fullTick() {
+        return net.tickNeuronOnly();
+    }
+
+    @Benchmark
+    public void phaseA_propagate() {
+        TickPhases.propagate(net);
+    }
+
+    @Benchmark
+    public int phaseB_decideFiring() {
+        return TickPhases.decideFiring(net);
+    }
+
+    @Benchmark
+    public void phaseC_commit() {
+        TickPhases.commitFiring(net);
+    }
+
+    @Benchmark
+    public void phaseD_hebbian() {
+        TickPhases.applyHebbian(net);
+    }
+
+    /**
+     * Untimed work before each {@link #phaseE_prune} and {@link #phaseF_grow}. Pruning gets phases
+     * (A)-(D) of the next tick: pruning on the same tick again would rebuild its timing wheel every
+     * call, and without the Hebbian pass nothing decays. Growth gets (A)-(C), so it wires new neurons
+     * to fresh firing, and a new network once it has grown to its policy's limits and would stop
+     * (its allocation rate counts those rebuilds too).
+     */
+    @Setup(Level.Invocation)
+    public void beforeInvocation(BenchmarkParams params) {
+        String b = params.getBenchmark();
+        boolean prune = b.endsWith("phaseE_prune");
+        if (!prune && !b.endsWith("phaseF_grow")) return;
+        if (!prune && grownOut()) setup(params);
+        TickPhases.nextTick(net);
+        TickPhases.propagate(net);
+        TickPhases.decideFiring(net);
+        TickPhases.commitFiring(net);
+        if (prune) TickPhases.applyHebbian(net);
+    }
+
+    private boolean grownOut() {
+        int size = net.getNeuronStore().size(); // nothing is removed here, so every slot is alive
+        return size >= growth.getTargetSize() || net.getSynapseStore().count() >= size * growth.getSynapsesPerNeuron();
+    }
+
+    @Benchmark
+    public int phaseE_prune() {
+        return TickPhases.prune(net);
+    }
+
+    @Benchmark
+    public int phaseF_grow() {
+        return TickPhases.grow(net);
+    }
+}
@@ -0,0 +1,269 @@
+package com.neurogenesis.cli;
+
+import com.neurogenesis.engine.SimulationEngine;
+import com.neurogenesis.model.Checkpoint;
+import com.neurogenesis.model.Journal;
+import com.neurogenesis.model.JournalReplayer;
+import com.neurogenesis.model.NetworkBuilder;
+import com.neurogenesis.model.NeuralNetwork;
+import com.neurogenesis.model.Neuron;
+import com.neurogenesis.model.NeuronStore;
+import com.neurogenesis.model.Rng;
+import com.neurogenesis.model.StimulusQueue;
+import com.neurogenesis.model.SynapseStore;
+import com.neurogenesis.model.TickMetrics;
+
+import javax.management.JMException;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Display-less entry point: drives a network for N ticks as fast as the
+ * machine allows and prints throughput plus final network stats.
+ *
+ * Usage: HeadlessRunner [--ticks N] [--mode neuron|doors] [--seed S]
+ *                       [--threads T] [--curiosity C] [--report-every K] [--decay eager|lazy]
+ *                       [--neurons N [--fanout K] [--outputs K] [--inputs K] [--max-delay D]] [--offheap DIR]
+ *                       [--stimulus EVENTS_PER_SEC]
+ *                       [--load FILE] [--save FILE]
+ *                       [--journal DIR [--checkpoint-every K]] [--metrics SECONDS [--budget-us U]]
+ *        HeadlessRunner --replay DIR --at TICK
+ *
+ * Without --neurons the usual small seed() network is used; with it a
+ * {@link NetworkBuilder} network of that size is generated, with synapse
+ * delays uniform in 1..D ticks if --max-delay is given. --load resumes
+ * from a {@link Checkpoint} instead, --save writes one after the run.
+ * --offheap keeps the synapses in memory-mapped files under DIR.
+ * --stimulus runs a producer thread pushing that many spike events per
+ * second at random INPUT neurons through the network's {@link StimulusQueue}.
+ * --journal records structural changes (see {@link Journal}); --replay
+ * rebuilds a journaled run at a past tick and prints its stats. --metrics
+ * times every tick phase (see {@link TickMetrics}), exposes it over JMX and
+ * prints the table every SECONDS (0 = only at the end).
+ */
+public class HeadlessRunner {
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        long ticks = 100_000;
+        boolean doors = false, lazyDecay = false;
+        Long seed = null;
+        int threads = 1;
+        double curiosity = 0.25;
+        long reportEvery = 0;
+        int neurons = 0, fanOut = 8, outputs = 3, inputs = 0, maxDelay = 1;
+        double stimulusRate = 0;
+        Path load = null, save = null, journalDir = null, replay = null, offHeap = null;
+        int checkpointEvery = 0, at = -1;
+        double metricsEvery = -1;
+        long budgetMicros = 0;
+
+        for (int i = 0; i < args.length; i++) {
+            String a = args[i];
+            if (i + 1 >= args.length) usage("missing value for " + a);
+            String v = args[++i];
+            switch (a) {
+                case "--ticks" -> ticks = Long.parseLong(v);
+                case "--mode" -> {
+                    if (!v.equals("neuron") && !v.equals("doors")) usage("unknown mode " + v);
+                    doors = v.equals("doors");
+                }
+                case "--decay" -> {
+                    if (!v.equals("eager") && !v.equals("lazy")) usage("unknown decay mode " + v);
+                    lazyDecay = v.equals("lazy");
+                }
+                case "--seed" -> seed = Long.parseLong(v);
+                case "--threads" -> threads = Integer.parseInt(v);
+                case "--curiosity" -> curiosity = Double.parseDouble(v);
+                case "--report-every" -> reportEvery = Long.parseLong(v);
+                case "--neurons" -> neurons = Integer.parseInt(v);
+                case "--fanout" -> fanOut = Integer.parseInt(v);
+                case "--outputs" -> outputs = Integer.parseInt(v);
+                case "--inputs" -> inputs = Integer.parseInt(v);
+                case "--stimulus" -> stimulusRate = Double.parseDouble(v);
+                case "--max-delay" -> maxDelay = Integer.parseInt(v);
+                case "--load" -> load = Path.of(v);
+                case "--save" -> save = Path.of(v);
+                case "--offheap" -> offHeap = Path.of(v);
+                case "--journal" -> journalDir = Path.of(v);
+                case "--checkpoint-every" -> checkpointEvery = Integer.parseInt(v);
+                case "--replay" -> replay = Path.of(v);
+                case "--at" -> at = Integer.parseInt(v);
+                case "--metrics" -> metricsEvery = Double.parseDouble(v);
+                case "--budget-us" -> budgetMicros = Long.parseLong(v);
+                default -> usage("unknown option " + a);
+            }
+        }
+
+        if (replay != null) {
+            if (at < 0) usage("--replay needs --at TICK");
+            long r0 = System.nanoTime();
+            NeuralNetwork past = new JournalReplayer(replay).at(at);
+            System.out.printf("rebuilt tick %d from %s in %.1f ms%n", at, replay, (System.nanoTime() - r0) / 1e6);
+            printStats(past);
+            return;
+        }
+
+        // one root generator: the network, the parallel partitions and the doors demo all split off it
+        Rng root = seed != null ? new Rng(seed) : new Rng();
+        NeuralNetwork net;
+        if (load != null) {
+            long l0 = System.nanoTime();
+            net = Checkpoint.load(load);
+            System.out.printf("loaded %s in %.1f ms%n", load, (System.nanoTime() - l0) / 1e6);
+        } else if (neurons > 0) {
+            // streamed straight into the mapped store, never held on the heap
+            net = new NetworkBuilder(root.nextLong())
+                    .neurons(neurons).fanOut(fanOut).outputs(outputs).inputs(inputs).firingRate(0.05).delays(1, maxDelay)
+                    .offHeap(offHeap).build();
+        } else {
+            net = new NeuralNetwork(root.split());
+            net.seed();
+        }
+        if (offHeap != null && !net.isSynapsesOffHeap()) net.setSynapseStorage(offHeap);
+        if (threads > 1) net.setParallelism(threads, root.nextLong());
+        net.setLazyDecay(lazyDecay);
+
+        Journal journal = null;
+        if (journalDir != null) {
+            journal = Journal.open(journalDir, net);
+            journal.setCheckpointEvery(checkpointEvery);
+        }
+
+        TickMetrics metrics = null;
+        if (metricsEvery >= 0) {
+            metrics = new TickMetrics();
+            metrics.setTickBudgetMicros(budgetMicros);
+            try {
+                metrics.register("headless");
+            } catch (JMException e) {
+                System.err.println("JMX registration failed: " + e.getMessage());
+            }
+            if (metricsEvery > 0) metrics.startDump((long) (metricsEvery * 1000), System.out::println);
+            net.setMetrics(metrics);
+        }
+
+        Stimulus stimulus = null;
+        if (stimulusRate > 0) {
+            List<Neuron> targets = net.getNeurons(Neuron.Role.INPUT);
+            if (targets.isEmpty()) usage("--stimulus needs INPUT neurons (--neurons N --inputs K)");
+            stimulus = new Stimulus(net, targets, stimulusRate, root.split());
+            stimulus.start();
+        }
+
+        SimulationEngine engine = new SimulationEngine(net, root);
+        engine.setModeNeuronOnly(!doors);
+        engine.setCuriosityRate(curiosity);
+
+        long successes = 0;
+        long t0 = System.nanoTime();
+        long lastReport = t0;
+        for (long t = 1; t <= ticks; t++) {
+            engine.stepOnce();
+            if (doors && net.wasLastSuccess()) successes++;
+            if (reportEvery > 0 && t % reportEvery == 0) {
+                long now = System.nanoTime();
+                System.out.printf("t=%d  %.0f ticks/s%n", t, reportEvery * 1e9 / (now - lastReport));
+                lastReport = now;
+            }
+        }
+        long dt = System.nanoTime() - t0;
+        if (stimulus != null) stimulus.stop();
+        engine.shutdown();
+        if (journal != null) journal.close();
+        net.setParallelism(1, 0);
+
+        System.out.printf("mode=%s kernels=%s ticks=%d elapsed=%.3fs throughput=%.0f ticks/s%n",
+                doors ? "doors" : "neuron", net.getKernels(), ticks, dt / 1e9, ticks * 1e9 / dt);
+        printStats(net);
+        if (stimulus != null) {
+            StimulusQueue q = net.stimuli();
+            System.out.printf("stimulus: pushed=%d (%.0f/s) rejected=%d drained=%d dropped=%d%n",
+                    stimulus.pushed, stimulus.pushed * 1e9 / dt, q.rejected(), q.drained(), q.dropped());
+        }
+        if (metrics != null) {
+            metrics.stopDump();
+            metrics.unregister();
+            System.out.println(metrics.dump());
+        }
+        if (doors) {
+            System.out.printf("decisions=%d success=%d (%.1f%%)%n",
+                    ticks, successes, 100.0 * successes / Math.max(1, ticks));
+        }
+        if (save != null) {
+            long s0 = System.nanoTime();
+            Checkpoint.save(net, save);
+            System.out.printf("saved %s in %.1f ms%n", save, (System.nanoTime() - s0) / 1e6);
+        }
+    }
+
+    /** Pushes spike events at random INPUT neurons at a fixed rate, stamped for the next tick. */
+    private static final class Stimulus implements Runnable {
+        private final NeuralNetwork net;
+        private final StimulusQueue queue;
+        private final int[] targets;
+        private final double perNano;
+        private final Rng rnd;
+        private final Thread thread = new Thread(this, "stimulus");
+        private volatile boolean running = true;
+        private long pushed;
+
+        Stimulus(NeuralNetwork net, List<Neuron> targets, double perSecond, Rng rnd) {
+            this.net = net;
+            this.queue = net.stimuli(1 << 20);
+            this.targets = targets.stream().mapToInt(Neuron::getIndex).toArray();
+            this.perNano = perSecond / 1e9;
+            this.rnd = rnd;
+            thread.setDaemon(true);
+        }
+
+        void start() { thread.start(); }
+
+        void stop() throws InterruptedException {
+            running = false;
+            thread.join();
+        }
+
+        @Override
+        public void run() {
+            long t0 = System.nanoTime(), offered = 0;
+            while (running) {
+                long due = (long) ((System.nanoTime() - t0) * perNano);
+                for (; offered < due; offered++) {
+                    // a full ring drops the event (counted as rejected) rather than falling behind
+                    if (queue.spike(targets[rnd.nextInt(targets.length)], net.getTick() + 1)) pushed++;
+                }
+                LockSupport.parkNanos(50_000);
+            }
+        }
+    }
+
+    static void printStats(NeuralNetwork net) {
+        NeuronStore cells = net.getNeuronStore();
+        SynapseStore syn = net.getSynapseStore();
+        int alive = 0, fired = 0;
+        for (int i = 0; i < cells.size(); i++) {
+            if (!cells.isAlive(i)) continue;
+            alive++;
+            if (cells.isFired(i)) fired++;
+        }
+        double sumW = 0;
+        for (int e = 0; e < syn.size(); e++) {
+            if (syn.isLive(e)) sumW += syn.weight(e);
+        }
+        System.out.printf("tick=%d neurons=%d synapses=%d fired=%d meanWeight=%.4f%n",
+                net.getTick(), alive, syn.count(), fired, syn.count() > 0 ? sumW / syn.count() : 0.0);
+    }
+
+    private static void usage(String problem) {
+        System.err.println(problem);
+        System.err.println("usage: HeadlessRunner [--ticks N] [--mode neuron|doors] [--seed S]"
+                + " [--threads T] [--curiosity C] [--report-every K] [--decay eager|lazy]"
+                + " [--neurons N [--fanout K] [--outputs K] [--inputs K] [--max-delay D]] [--offheap DIR] [--load FILE] [--save FILE]"
+                + " [--stimulus EVENTS_PER_SEC]"
+                + " [--journal DIR [--checkpoint-every K]] [--metrics SECONDS [--budget-us U]]");
+        System.err.println("       HeadlessRunner --replay DIR --at TICK");
+        System.exit(2);
+    }
+}
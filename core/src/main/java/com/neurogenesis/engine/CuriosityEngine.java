@@ -0,0 +1,64 @@
+package com.neurogenesis.engine;
+
+import com.neurogenesis.model.Neuron;
+import com.neurogenesis.model.Rng;
+
+import java.util.List;
+
+public class CuriosityEngine {
+    public enum DecisionType { LOGICAL, CURIOUS }
+
+    public static class Choice {
+        private Neuron neuron;
+        private DecisionType type;
+        public Choice(Neuron n, DecisionType t) {
+            this.neuron = n;
+            this.type = t;
+        }
+        public Neuron neuron() { return neuron; }
+        public DecisionType type() { return type; }
+    }
+
+    private static final Choice NONE = new Choice(null, DecisionType.LOGICAL);
+
+    private final Rng rnd;
+    private final Choice choice = new Choice(null, DecisionType.LOGICAL);   // reused, see choose()
+
+    public CuriosityEngine() { this(new Rng()); }
+    public CuriosityEngine(long seed) { this(new Rng(seed)); }
+    public CuriosityEngine(Rng rnd) { this.rnd = rnd; }
+
+    /** The decision; the returned holder is reused and only valid until the next call. */
+    public Choice choose(List<Neuron> outputs, double curiosityRate) {
+        if (outputs == null || outputs.isEmpty()) return NONE;
+
+        // Logical = choose neuron with strongest weight
+        Neuron best = outputs.get(argmax(outputs));
+
+        if (rnd.nextDouble() < curiosityRate) {
+            // Curiosity: pick a random one instead of best
+            return set(outputs.get(rnd.nextInt(outputs.size())), DecisionType.CURIOUS);
+        }
+        return set(best, DecisionType.LOGICAL);
+    }
+
+    private Choice set(Neuron n, DecisionType t) {
+        choice.neuron = n;
+        choice.type = t;
+        return choice;
+    }
+
+    /** Position of the most active neuron in a non-empty random-access list (first one on ties); allocates nothing. */
+    public static int argmax(List<Neuron> outputs) {
+        int best = 0;
+        double max = outputs.get(0).getActivation();
+        for (int k = 1, n = outputs.size(); k < n; k++) {
+            double a = outputs.get(k).getActivation();
+            if (Double.compare(a, max) > 0) {
+                max = a;
+                best = k;
+            }
+        }
+        return best;
+    }
+}
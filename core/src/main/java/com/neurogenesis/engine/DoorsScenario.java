@@ -0,0 +1,95 @@
+package com.neurogenesis.engine;
+
+import com.neurogenesis.model.Neuron;
+import com.neurogenesis.model.Rng;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Gives each door (output neuron) a random cost, lower is better; a choice
+ * succeeds when it picks the cheapest door. Doors are keyed by neuron id and
+ * the best one is found once per {@link #shuffleCosts()}, so {@link #evaluate}
+ * is an array lookup and returns one of two cached results.
+ */
+public class DoorsScenario {
+    private static final int MAX_COST = 10;
+    private static final Result NONE = new Result(false, "?");
+
+    private final Rng rnd;
+    private List<Neuron> doors = List.of();
+    private int[] cost = new int[0];     // per door position
+    private int[] posById = new int[0];  // neuron id -> door position, -1 = not a door
+    private int best = -1;
+    private Result hit = NONE, miss = NONE;
+
+    public DoorsScenario() {
+        this(new Rng());
+    }
+
+    public DoorsScenario(long seed) {
+        this(new Rng(seed));
+    }
+
+    public DoorsScenario(Rng rnd) {
+        this.rnd = rnd;
+    }
+
+    /**
+     * Makes {@code doors} the options and draws their costs; a no-op when it
+     * is the list already in use, so it can be called every decision with
+     * {@link com.neurogenesis.model.NeuralNetwork#getOutputNeurons()}.
+     */
+    public void setDoors(List<Neuron> doors) {
+        if (doors == this.doors) return;
+        this.doors = doors;
+        int maxId = -1;
+        for (Neuron n : doors) maxId = Math.max(maxId, n.getIndex());
+        posById = new int[maxId + 1];
+        Arrays.fill(posById, -1);
+        for (int k = 0; k < doors.size(); k++) posById[doors.get(k).getIndex()] = k;
+        cost = new int[doors.size()];
+        shuffleCosts();
+    }
+
+    public void shuffleCosts() {
+        // Assign random cost (lower is better); the first cheapest door wins ties
+        best = -1;
+        for (int k = 0; k < cost.length; k++) {
+            cost[k] = rnd.nextInt(MAX_COST) + 1;
+            if (best < 0 || cost[k] < cost[best]) best = k;
+        }
+        String label = best >= 0 ? doors.get(best).getLabel() : "?";
+        hit = new Result(true, label);
+        miss = new Result(false, label);
+    }
+
+    /** Cost of {@code door}, or the maximum for a neuron that is not a door. */
+    public int cost(Neuron door) {
+        int k = position(door);
+        return k >= 0 ? cost[k] : MAX_COST;
+    }
+
+    /** The cheapest door, or null before any doors were set. */
+    public Neuron bestDoor() { return best >= 0 ? doors.get(best) : null; }
+
+    public Result evaluate(Neuron chosen) {
+        if (chosen == null) return NONE;
+        return position(chosen) == best && best >= 0 ? hit : miss;
+    }
+
+    private int position(Neuron n) {
+        int id = n.getIndex();
+        return id < posById.length ? posById[id] : -1;
+    }
+
+    public static class Result {
+        private final boolean success;
+        private final String best;
+        public Result(boolean success, String best) {
+            this.success = success; this.best = best;
+        }
+        public boolean success() { return success; }
+        public String bestLabel() { return best; }
+    }
+}
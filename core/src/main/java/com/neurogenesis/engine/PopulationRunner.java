@@ -0,0 +1,233 @@
+package com.neurogenesis.engine;
+
+import com.neurogenesis.model.NetworkBuilder;
+import com.neurogenesis.model.NeuralNetwork;
+import com.neurogenesis.model.Rng;
+import com.neurogenesis.model.TickStats;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.LongFunction;
+
+/**
+ * Parameter sweeps: runs many independent network + doors-scenario members
+ * on a work-stealing {@link ForkJoinPool}, one task per member, and
+ * aggregates their results per parameter set.
+ *
+ * Each member gets its parameters from the grid and its own seed (split from
+ * one root seed), whose {@link Rng} seeds the network, the curiosity choices
+ * and the door costs. Members share nothing, so the sweep scales with cores.
+ *
+ * Usage: PopulationRunner [--ticks N] [--sample-every K] [--threads T] [--replicas R] [--seed S]
+ *                         [--curiosity a,b,..] [--eta ..] [--decay ..] [--prune-grace ..] [--prune-below ..]
+ *                         [--neurons N [--fanout K] [--outputs K]] [--csv FILE]
+ */
+public class PopulationRunner {
+    public record Params(double curiosity, double eta, double decay, int pruneGrace, double pruneBelow) {}
+    public record Member(int id, Params params, long seed) {}
+    /** One sampling window of one member: rates over the window, sizes at its end. */
+    public record Sample(int member, int tick, double successRate, double firingRate, int synapses, int neurons) {}
+    /** Whole-run figures of one member. */
+    public record Result(Member member, double successRate, double firingRate, int synapses, int neurons, double ticksPerSec) {}
+
+    private final int ticks;
+    private final int sampleEvery;
+    private final LongFunction<NeuralNetwork> networks;
+
+    /** {@code networks} builds a member's starting network from its seed. */
+    public PopulationRunner(int ticks, int sampleEvery, LongFunction<NeuralNetwork> networks) {
+        this.ticks = ticks;
+        this.sampleEvery = sampleEvery;
+        this.networks = networks;
+    }
+
+    /** Every combination of the given values. */
+    public static List<Params> cartesian(double[] curiosity, double[] eta, double[] decay, int[] pruneGrace, double[] pruneBelow) {
+        List<Params> out = new ArrayList<>();
+        for (double c : curiosity) for (double e : eta) for (double d : decay)
+            for (int g : pruneGrace) for (double b : pruneBelow) out.add(new Params(c, e, d, g, b));
+        return out;
+    }
+
+    /** {@code replicas} members per parameter set, each with its own seed split from {@code rootSeed}. */
+    public static List<Member> members(List<Params> grid, int replicas, long rootSeed) {
+        SplittableRandom root = new SplittableRandom(rootSeed);
+        List<Member> out = new ArrayList<>(grid.size() * replicas);
+        for (Params p : grid) {
+            for (int r = 0; r < replicas; r++) out.add(new Member(out.size(), p, root.nextLong()));
+        }
+        return out;
+    }
+
+    /**
+     * Runs all members on {@code threads} workers and returns their results in
+     * member order. {@code samples} (may be null) is called from the workers
+     * as windows complete, so it must be thread-safe.
+     */
+    public List<Result> run(List<Member> members, int threads, Consumer<Sample> samples) {
+        ForkJoinPool pool = new ForkJoinPool(Math.max(1, threads));
+        try {
+            List<ForkJoinTask<Result>> tasks = new ArrayList<>(members.size());
+            for (Member m : members) tasks.add(pool.submit(() -> runMember(m, samples)));
+            List<Result> out = new ArrayList<>(members.size());
+            for (ForkJoinTask<Result> t : tasks) out.add(t.join());
+            return out;
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    Result runMember(Member m, Consumer<Sample> samples) {
+        Params p = m.params();
+        Rng root = new Rng(m.seed());
+        NeuralNetwork net = networks.apply(root.nextLong());
+        net.setLearning(p.eta(), p.decay());
+        net.setPruning(p.pruneGrace(), p.pruneBelow());
+        SimulationEngine engine = new SimulationEngine(net, root);
+        engine.setModeNeuronOnly(false);
+        engine.setCuriosityRate(p.curiosity());
+
+        long successes = 0, winSuccesses = 0;
+        double firing = 0, winFiring = 0;
+        long t0 = System.nanoTime();
+        for (int t = 1; t <= ticks; t++) {
+            TickStats s = engine.stepOnce();
+            double rate = (double) s.fired() / Math.max(1, net.getNeurons().size());
+            firing += rate;
+            winFiring += rate;
+            if (net.wasLastSuccess()) { successes++; winSuccesses++; }
+            if (samples != null && sampleEvery > 0 && t % sampleEvery == 0) {
+                samples.accept(new Sample(m.id(), t, (double) winSuccesses / sampleEvery, winFiring / sampleEvery,
+                        net.getSynapseStore().count(), net.getNeurons().size()));
+                winSuccesses = 0;
+                winFiring = 0;
+            }
+        }
+        double secs = (System.nanoTime() - t0) / 1e9;
+        return new Result(m, (double) successes / Math.max(1, ticks), firing / Math.max(1, ticks),
+                net.getSynapseStore().count(), net.getNeurons().size(), ticks / Math.max(secs, 1e-9));
+    }
+
+    // ------------------------------
+    // command line
+    // ------------------------------
+    public static void main(String[] args) throws IOException {
+        int ticks = 20_000, sampleEvery = 1_000, replicas = 3;
+        int threads = Runtime.getRuntime().availableProcessors();
+        long seed = 42;
+        double[] curiosity = {0.0, 0.1, 0.25, 0.5}, eta = {0.05, 0.10, 0.20}, decay = {0.005, 0.01, 0.02};
+        int[] grace = {80};
+        double[] below = {0.08};
+        int neurons = 0, fanOut = 8, outputs = 3;
+        Path csv = null;
+
+        for (int i = 0; i < args.length; i++) {
+            String a = args[i];
+            if (i + 1 >= args.length) usage("missing value for " + a);
+            String v = args[++i];
+            switch (a) {
+                case "--ticks" -> ticks = Integer.parseInt(v);
+                case "--sample-every" -> sampleEvery = Integer.parseInt(v);
+                case "--threads" -> threads = Integer.parseInt(v);
+                case "--replicas" -> replicas = Integer.parseInt(v);
+                case "--seed" -> seed = Long.parseLong(v);
+                case "--curiosity" -> curiosity = doubles(v);
+                case "--eta" -> eta = doubles(v);
+                case "--decay" -> decay = doubles(v);
+                case "--prune-grace" -> grace = Arrays.stream(v.split(",")).mapToInt(Integer::parseInt).toArray();
+                case "--prune-below" -> below = doubles(v);
+                case "--neurons" -> neurons = Integer.parseInt(v);
+                case "--fanout" -> fanOut = Integer.parseInt(v);
+                case "--outputs" -> outputs = Integer.parseInt(v);
+                case "--csv" -> csv = Path.of(v);
+                default -> usage("unknown option " + a);
+            }
+        }
+
+        final int n = neurons, k = fanOut, outs = outputs;
+        LongFunction<NeuralNetwork> networks = n > 0
+                ? s -> new NetworkBuilder(s).neurons(n).fanOut(k).outputs(outs).firingRate(0.05).build()
+                : s -> { NeuralNetwork net = new NeuralNetwork(s); net.seed(); return net; };
+
+        List<Params> grid = cartesian(curiosity, eta, decay, grace, below);
+        List<Member> members = members(grid, replicas, seed);
+        System.out.printf("%d parameter sets x %d replicas = %d members, %d ticks each, %d threads%n",
+                grid.size(), replicas, members.size(), ticks, threads);
+
+        PrintWriter out = csv != null ? new PrintWriter(Files.newBufferedWriter(csv)) : null;
+        if (out != null) out.println("member,curiosity,eta,decay,pruneGrace,pruneBelow,tick,successRate,firingRate,synapses,neurons");
+        AtomicInteger windows = new AtomicInteger();
+        int totalWindows = members.size() * (sampleEvery > 0 ? ticks / sampleEvery : 0);
+        Consumer<Sample> sink = s -> {
+            int done = windows.incrementAndGet();
+            if (out != null) {
+                Params p = members.get(s.member()).params();
+                synchronized (out) {
+                    out.printf(Locale.ROOT, "%d,%s,%s,%s,%d,%s,%d,%.4f,%.4f,%d,%d%n", s.member(), p.curiosity(), p.eta(),
+                            p.decay(), p.pruneGrace(), p.pruneBelow(), s.tick(), s.successRate(), s.firingRate(),
+                            s.synapses(), s.neurons());
+                }
+            }
+            if (totalWindows >= 10 && done % (totalWindows / 10) == 0) {
+                System.out.printf("  %3d%% of sample windows done%n", 100L * done / totalWindows);
+            }
+        };
+
+        long t0 = System.nanoTime();
+        List<Result> results = new PopulationRunner(ticks, sampleEvery, networks).run(members, threads, sink);
+        double secs = (System.nanoTime() - t0) / 1e9;
+        if (out != null) out.close();
+
+        printSummary(results);
+        System.out.printf("%d members in %.1fs (%.0f member-ticks/s)%n",
+                members.size(), secs, (double) members.size() * ticks / secs);
+    }
+
+    /** One row per parameter set, mean +- sd over its replicas, best success rate first. */
+    static void printSummary(List<Result> results) {
+        Map<Params, List<Result>> byParams = new LinkedHashMap<>();
+        for (Result r : results) byParams.computeIfAbsent(r.member().params(), p -> new ArrayList<>()).add(r);
+
+        record Row(Params p, double success, double successSd, double firing, double synapses, double neurons) {}
+        List<Row> rows = new ArrayList<>();
+        for (Map.Entry<Params, List<Result>> e : byParams.entrySet()) {
+            List<Result> rs = e.getValue();
+            double mean = rs.stream().mapToDouble(Result::successRate).average().orElse(0);
+            double var = rs.stream().mapToDouble(r -> (r.successRate() - mean) * (r.successRate() - mean)).sum()
+                    / Math.max(1, rs.size() - 1);
+            rows.add(new Row(e.getKey(), mean, Math.sqrt(var),
+                    rs.stream().mapToDouble(Result::firingRate).average().orElse(0),
+                    rs.stream().mapToDouble(Result::synapses).average().orElse(0),
+                    rs.stream().mapToDouble(Result::neurons).average().orElse(0)));
+        }
+        rows.sort(Comparator.comparingDouble(Row::success).reversed());
+
+        System.out.printf("%-9s %-6s %-7s %-6s %-7s | %-15s %-7s %-9s %-7s%n",
+                "curiosity", "eta", "decay", "grace", "below", "success", "firing", "synapses", "neurons");
+        for (Row r : rows) {
+            Params p = r.p();
+            System.out.printf("%-9.3f %-6.3f %-7.4f %-6d %-7.3f | %6.2f%% +- %5.2f %6.3f  %9.1f %7.1f%n",
+                    p.curiosity(), p.eta(), p.decay(), p.pruneGrace(), p.pruneBelow(),
+                    100 * r.success(), 100 * r.successSd(), r.firing(), r.synapses(), r.neurons());
+        }
+    }
+
+    private static double[] doubles(String csv) {
+        return Arrays.stream(csv.split(",")).mapToDouble(Double::parseDouble).toArray();
+    }
+
+    private static void usage(String problem) {
+        System.err.println(problem);
+        System.err.println("usage: PopulationRunner [--ticks N] [--sample-every K] [--threads T] [--replicas R] [--seed S]"
+                + " [--curiosity a,b,..] [--eta ..] [--decay ..] [--prune-grace ..] [--prune-below ..]"
+                + " [--neurons N [--fanout K] [--outputs K]] [--csv FILE]");
+        System.exit(2);
+    }
+}
@@ -0,0 +1,66 @@
+package com.neurogenesis.engine;
+
+import com.neurogenesis.model.NetworkBuilder;
+import com.neurogenesis.model.NeuralNetwork;
+import com.neurogenesis.model.NeuronStore;
+import com.neurogenesis.model.SynapseStore;
+
+/**
+ * Prints tick throughput of the parallel tick for 1..N threads on the same
+ * seeded network, plus a state checksum per run. Running a thread count
+ * twice must give the same checksum.
+ *
+ * Usage: ScalingReport [neurons] [fanOut] [ticks] [maxThreads]
+ */
+public class ScalingReport {
+    private static final long SEED = 42L;
+
+    public static void main(String[] args) {
+        int neurons = args.length > 0 ? Integer.parseInt(args[0]) : 200_000;
+        int fanOut  = args.length > 1 ? Integer.parseInt(args[1]) : 16;
+        int ticks   = args.length > 2 ? Integer.parseInt(args[2]) : 200;
+        int maxThr  = args.length > 3 ? Integer.parseInt(args[3]) : Runtime.getRuntime().availableProcessors();
+
+        System.out.printf("neurons=%d synapses=%d ticks=%d%n", neurons, (long) neurons * fanOut, ticks);
+        System.out.printf("%8s %12s %8s %18s %6s%n", "threads", "ticks/s", "speedup", "checksum", "repro");
+
+        double base = 0;
+        for (int t = 1; t <= maxThr; t = (t < maxThr) ? Math.min(t * 2, maxThr) : t + 1) {
+            Run a = run(neurons, fanOut, ticks, t);
+            Run b = run(neurons, fanOut, ticks, t);
+            double tps = Math.max(a.ticksPerSec, b.ticksPerSec);
+            if (t == 1) base = tps;
+            System.out.printf("%8d %12.1f %7.2fx %18x %6s%n",
+                    t, tps, tps / base, a.checksum, a.checksum == b.checksum ? "yes" : "NO");
+        }
+    }
+
+    private record Run(double ticksPerSec, long checksum) {}
+
+    private static Run run(int neurons, int fanOut, int ticks, int threads) {
+        NeuralNetwork net = build(neurons, fanOut);
+        net.setParallelism(threads, SEED); // 1 = the plain sequential tick (baseline)
+
+        for (int i = 0; i < Math.min(20, ticks); i++) net.tickNeuronOnly(); // warm-up
+        long t0 = System.nanoTime();
+        for (int i = 0; i < ticks; i++) net.tickNeuronOnly();
+        long dt = System.nanoTime() - t0;
+        net.setParallelism(1, SEED);
+        return new Run(ticks * 1e9 / dt, checksum(net));
+    }
+
+    static NeuralNetwork build(int neurons, int fanOut) {
+        return new NetworkBuilder(SEED).neurons(neurons).fanOut(fanOut).firingRate(0.05).build();
+    }
+
+    private static long checksum(NeuralNetwork net) {
+        SynapseStore s = net.getSynapseStore();
+        NeuronStore cells = net.getNeuronStore();
+        long h = 1125899906842597L;
+        for (int e = 0; e < s.size(); e++) {
+            if (s.isLive(e)) h = 31 * h + Double.doubleToLongBits(s.weight(e));
+        }
+        for (int i = 0; i < cells.size(); i++) h = 31 * h + (cells.isFired(i) ? 1 : 0);
+        return h;
+    }
+}
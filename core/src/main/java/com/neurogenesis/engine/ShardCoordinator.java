@@ -0,0 +1,241 @@
+package com.neurogenesis.engine;
+
+import com.neurogenesis.model.GrowthPolicy;
+import com.neurogenesis.model.Rng;
+import com.neurogenesis.model.TickStats;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.Properties;
+
+/**
+ * Runs a network split across {@link ShardWorker}s (see
+ * {@link com.neurogenesis.model.NeuralNetwork#setShard}): each shard ticks
+ * its own neurons and the coordinator is the tick barrier. Per tick every
+ * shard sends the ids of its neurons that fire (a
+ * {@link com.neurogenesis.model.SpikeBatch}), and the coordinator sends
+ * all the batches back to everyone in one STEP message, together with how
+ * many neurons the tick grows (drawn here, so ids stay in step on every
+ * shard) and whether to checkpoint. So a tick costs one round trip, with
+ * only spike ids on the wire.
+ *
+ * Checkpoints are one {@link com.neurogenesis.model.Checkpoint} per shard,
+ * {@code <prefix>-<k>.ngcp}, plus a manifest {@code <prefix>.shards}
+ * written once every shard has saved; {@link #resume} restarts from it with
+ * the same number of shards.
+ */
+public final class ShardCoordinator implements Closeable {
+    /** What the shards build: a {@link com.neurogenesis.model.NetworkBuilder} network. */
+    public record Setup(int neurons, int fanOut, double firingRate, int maxDelay, boolean lazyDecay, long seed) {}
+
+    private final ServerSocketChannel server;
+    private final ShardLink[] links;
+    private ByteBuffer step = ByteBuffer.allocateDirect(1 << 16);
+
+    private Setup setup;
+    private GrowthPolicy growth;
+    private int baseNeurons, neurons, tick;
+    private final int[] stats = new int[7];
+    private boolean started = false, closed = false;
+
+    /** Listens on a free loopback port for {@code shards} workers. */
+    public ShardCoordinator(int shards) throws IOException {
+        if (shards < 1) throw new IllegalArgumentException("shards < 1");
+        links = new ShardLink[shards];
+        server = ServerSocketChannel.open().bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+    }
+
+    public int shards() { return links.length; }
+    public int port() { return server.socket().getLocalPort(); }
+    public int getTick() { return tick; }
+    public int getNeuronCount() { return neurons; }
+
+    /** Bytes sent and received over all shard connections so far. */
+    public long bytesExchanged() {
+        long b = 0;
+        for (ShardLink l : links) if (l != null) b += l.bytesSent() + l.bytesReceived();
+        return b;
+    }
+
+    /** Waits for the workers, has them build their slices of {@code setup}'s network, and starts tick 1. */
+    public void start(Setup setup, GrowthPolicy growth, long timeoutMs) throws IOException {
+        this.setup = setup;
+        this.baseNeurons = this.neurons = setup.neurons();
+        this.tick = 0;
+        open(growth, "", timeoutMs);
+    }
+
+    /** Same, from the checkpoint set whose manifest is {@code <prefix>.shards}. */
+    public void resume(Path prefix, GrowthPolicy growth, long timeoutMs) throws IOException {
+        Properties p = new Properties();
+        try (Reader r = Files.newBufferedReader(manifest(prefix))) {
+            p.load(r);
+        }
+        if (Integer.parseInt(p.getProperty("shards")) != links.length) {
+            throw new IOException("checkpoint has " + p.getProperty("shards") + " shards, coordinator " + links.length);
+        }
+        setup = new Setup(Integer.parseInt(p.getProperty("neurons")), Integer.parseInt(p.getProperty("fanOut")),
+                Double.parseDouble(p.getProperty("firingRate")), Integer.parseInt(p.getProperty("maxDelay")),
+                Boolean.parseBoolean(p.getProperty("lazyDecay")), Long.parseLong(p.getProperty("seed")));
+        baseNeurons = setup.neurons();
+        neurons = Integer.parseInt(p.getProperty("aliveNeurons"));
+        tick = Integer.parseInt(p.getProperty("tick"));
+        open(growth, prefix.toString(), timeoutMs);
+    }
+
+    private void open(GrowthPolicy growth, String resume, long timeoutMs) throws IOException {
+        if (started) throw new IllegalStateException("already started");
+        started = true;
+        this.growth = growth;
+        accept(timeoutMs);
+        for (int k = 0; k < links.length; k++) {
+            ByteBuffer c = links[k].begin(ShardLink.CONFIG, 128 + 3 * resume.length());
+            c.putInt(k).putInt(links.length).putInt(baseNeurons).putLong(setup.seed())
+                    .putInt(setup.neurons()).putInt(setup.fanOut()).putDouble(setup.firingRate())
+                    .putInt(setup.maxDelay()).put((byte) (setup.lazyDecay() ? 1 : 0))
+                    .putInt(growth.getTargetSize()).putDouble(growth.getNeuronRate()).putDouble(growth.getSynapseRate())
+                    .putDouble(growth.getSynapsesPerNeuron()).putInt(growth.getMaxFanOut()).putInt(growth.getMaxFanIn());
+            ShardLink.putString(c, resume);
+            links[k].send();
+        }
+        for (int k = 0; k < links.length; k++) {
+            ByteBuffer r = links[k].receive(ShardLink.READY);
+            int at = r.getInt(), size = r.getInt();
+            if (at != tick || size != neurons) {
+                throw new IOException("shard " + k + " is at tick " + at + " with " + size + " neurons, expected " + tick + "/" + neurons);
+            }
+        }
+        receiveSpikes(); // the shards have begun tick + 1
+    }
+
+    private void accept(long timeoutMs) throws IOException {
+        long deadline = System.currentTimeMillis() + timeoutMs;
+        server.configureBlocking(false);
+        try (Selector sel = Selector.open()) {
+            server.register(sel, SelectionKey.OP_ACCEPT);
+            for (int k = 0; k < links.length; ) {
+                long left = deadline - System.currentTimeMillis();
+                if (left <= 0) throw new IOException("only " + k + " of " + links.length + " shards connected");
+                sel.select(left);
+                sel.selectedKeys().clear();
+                for (SocketChannel ch; k < links.length && (ch = server.accept()) != null; ) links[k++] = new ShardLink(ch);
+            }
+        }
+    }
+
+    /**
+     * Runs one tick across all shards and returns its stats, summed over the
+     * shards (their {@code fired} is the whole network's).
+     */
+    public TickStats step() throws IOException { return step(null); }
+
+    /** Runs one tick, after which every shard checkpoints; returns once the whole set and its manifest are saved. */
+    public TickStats stepAndCheckpoint(Path prefix) throws IOException {
+        Files.deleteIfExists(manifest(prefix)); // a set without a manifest is incomplete
+        TickStats s = step(prefix);
+        writeManifest(prefix);
+        return s;
+    }
+
+    private TickStats step(Path save) throws IOException {
+        if (!started || closed) throw new IllegalStateException(closed ? "closed" : "not started");
+        // grow in step: every shard adds the same neurons, each wires up its own
+        tick++;
+        int grow = 0;
+        if (neurons < growth.getTargetSize()) {
+            Rng r = new Rng(setup.seed() ^ 0x9E3779B97F4A7C15L * tick); // a function of the tick, so resume needs no state
+            grow = Math.min(GrowthPolicy.draw(growth.getNeuronRate(), r), growth.getTargetSize() - neurons);
+        }
+        neurons += grow;
+
+        // STEP: the grow count, then every shard's spike batch as it was received
+        int bytes = 64 + (save != null ? 3 * save.toString().length() : 0);
+        for (ShardLink l : links) bytes += 4 + l.pendingSpikes().remaining();
+        step = ShardLink.frame(step, ShardLink.STEP, bytes);
+        step.putInt(tick).putInt(grow).put(save != null ? ShardLink.STEP_SAVE : 0);
+        if (save != null) ShardLink.putString(step, save.toString());
+        step.putInt(links.length);
+        for (ShardLink l : links) {
+            ByteBuffer b = l.pendingSpikes();
+            step.putInt(b.remaining()).put(b);
+        }
+        for (ShardLink l : links) l.send(step);
+
+        // the shards finish this tick, begin the next and report back
+        boolean allSaved = receiveSpikes();
+        if (save != null && !allSaved) throw new IOException("a shard did not confirm its checkpoint");
+        return new TickStats(tick, stats[1], stats[2], stats[3], stats[4], stats[5], stats[6]);
+    }
+
+    /** Reads every shard's SPIKES, leaving the batch in its link; sums the stats. Returns whether all saved. */
+    private boolean receiveSpikes() throws IOException {
+        Arrays.fill(stats, 0);
+        boolean saved = true;
+        for (int k = 0; k < links.length; k++) {
+            ByteBuffer s = links[k].receive(ShardLink.SPIKES);
+            int at = s.getInt();
+            if (at != tick + 1) throw new IOException("shard " + k + " sent tick " + at + ", expected " + (tick + 1));
+            saved &= s.get() != 0;
+            for (int j = 0; j < stats.length; j++) stats[j] += s.getInt();
+        }
+        return saved;
+    }
+
+    private void writeManifest(Path prefix) throws IOException {
+        Properties p = new Properties();
+        p.setProperty("shards", Integer.toString(links.length));
+        p.setProperty("tick", Integer.toString(tick));
+        p.setProperty("aliveNeurons", Integer.toString(neurons));
+        p.setProperty("neurons", Integer.toString(setup.neurons()));
+        p.setProperty("fanOut", Integer.toString(setup.fanOut()));
+        p.setProperty("firingRate", Double.toString(setup.firingRate()));
+        p.setProperty("maxDelay", Integer.toString(setup.maxDelay()));
+        p.setProperty("lazyDecay", Boolean.toString(setup.lazyDecay()));
+        p.setProperty("seed", Long.toString(setup.seed()));
+        Path tmp = manifest(prefix).resolveSibling(manifest(prefix).getFileName() + ".tmp");
+        try (Writer w = Files.newBufferedWriter(tmp)) {
+            p.store(w, "neurogenesis shard checkpoint set");
+        }
+        Files.move(tmp, manifest(prefix), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    static Path manifest(Path prefix) {
+        return prefix.resolveSibling(prefix.getFileName() + ".shards");
+    }
+
+    /** Stops the workers (discarding the tick they have begun) and closes the connections. */
+    @Override
+    public void close() throws IOException {
+        if (closed) return;
+        closed = true;
+        try {
+            if (started) {
+                step = ShardLink.frame(step, ShardLink.STEP, 16);
+                step.putInt(tick + 1).putInt(0).put(ShardLink.STEP_STOP);
+                for (ShardLink l : links) {
+                    try {
+                        l.send(step);
+                    } catch (IOException ignored) {
+                        // already gone
+                    }
+                }
+            }
+        } finally {
+            for (ShardLink l : links) if (l != null) l.close();
+            server.close();
+        }
+    }
+}
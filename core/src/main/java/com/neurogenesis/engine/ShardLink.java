@@ -0,0 +1,110 @@
+package com.neurogenesis.engine;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * One coordinator-shard connection: a blocking socket channel carrying
+ * length-prefixed frames whose first byte is the message type. Both ends
+ * keep one direct buffer per direction and grow it only when a frame does
+ * not fit, so the per-tick exchange allocates nothing.
+ *
+ * Messages: CONFIG and READY once, then per tick SPIKES (shard to
+ * coordinator) and STEP (coordinator to every shard); see
+ * {@link ShardCoordinator} and {@link ShardWorker}.
+ */
+final class ShardLink implements Closeable {
+    static final byte CONFIG = 1, READY = 2, SPIKES = 3, STEP = 4;
+    static final byte STEP_SAVE = 1, STEP_STOP = 2; // STEP flags
+
+    private final SocketChannel ch;
+    private final ByteBuffer head = ByteBuffer.allocateDirect(4);
+    private ByteBuffer out = ByteBuffer.allocateDirect(1 << 16);
+    private ByteBuffer in = ByteBuffer.allocateDirect(1 << 16);
+    private long sent, received;
+
+    ShardLink(SocketChannel ch) throws IOException {
+        this.ch = ch;
+        ch.configureBlocking(true);
+        ch.setOption(StandardSocketOptions.TCP_NODELAY, true);
+    }
+
+    /** Clears the outgoing buffer for a frame of up to {@code bytes} and writes its type. */
+    ByteBuffer begin(byte type, int bytes) {
+        out = frame(out, type, bytes);
+        return out;
+    }
+
+    void send() throws IOException { send(out); }
+
+    /** Sends a frame started with {@link #frame}, leaving it intact for the next receiver. */
+    void send(ByteBuffer frame) throws IOException {
+        ByteBuffer b = frame.duplicate().flip();
+        b.putInt(0, b.limit() - 4);
+        while (b.hasRemaining()) ch.write(b);
+        sent += b.limit();
+    }
+
+    /** A buffer (maybe {@code buf}) cleared for a frame of up to {@code bytes}, with the type written. */
+    static ByteBuffer frame(ByteBuffer buf, byte type, int bytes) {
+        if (buf.capacity() < bytes + 5) buf = ByteBuffer.allocateDirect(Math.max(bytes + 5, buf.capacity() * 2));
+        buf.clear();
+        buf.putInt(0).put(type);
+        return buf;
+    }
+
+    /** Reads the next frame, which must be of {@code type}; the buffer is positioned after the type byte. */
+    ByteBuffer receive(byte type) throws IOException {
+        head.clear();
+        fill(head);
+        int len = head.getInt(0);
+        if (len < 1) throw new IOException("bad frame length " + len);
+        if (in.capacity() < len) in = ByteBuffer.allocateDirect(Math.max(len, in.capacity() * 2));
+        in.clear().limit(len);
+        fill(in);
+        in.flip();
+        received += 4 + len;
+        byte got = in.get();
+        if (got != type) throw new IOException("expected message " + type + ", got " + got);
+        return in;
+    }
+
+    /** The spike batch left in the last received SPIKES frame (a view; the frame stays intact). */
+    ByteBuffer pendingSpikes() { return in.duplicate(); }
+
+    private void fill(ByteBuffer b) throws IOException {
+        while (b.hasRemaining()) {
+            if (ch.read(b) < 0) throw new EOFException("connection closed by " + peer());
+        }
+    }
+
+    long bytesSent() { return sent; }
+    long bytesReceived() { return received; }
+
+    String peer() {
+        try {
+            return String.valueOf(ch.getRemoteAddress());
+        } catch (IOException e) {
+            return "?";
+        }
+    }
+
+    static void putString(ByteBuffer b, String s) {
+        byte[] a = s.getBytes(StandardCharsets.UTF_8);
+        b.putShort((short) a.length).put(a);
+    }
+
+    static String getString(ByteBuffer b) {
+        byte[] a = new byte[b.getShort() & 0xFFFF];
+        b.get(a);
+        return new String(a, StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public void close() throws IOException { ch.close(); }
+}
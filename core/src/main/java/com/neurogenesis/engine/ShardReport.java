@@ -0,0 +1,76 @@
+package com.neurogenesis.engine;
+
+import com.neurogenesis.model.GrowthPolicy;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Prints tick throughput of a partitioned run for 1..N shards on the same
+ * seeded network, each shard a worker JVM on this machine, plus the bytes
+ * exchanged per tick and the total fired count over the timed ticks (the
+ * same shard count must always give the same count; different counts differ
+ * because each shard draws its own noise).
+ *
+ * Usage: ShardReport [neurons] [fanOut] [ticks] [maxShards]
+ */
+public class ShardReport {
+    private static final long SEED = 42L;
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        int neurons = args.length > 0 ? Integer.parseInt(args[0]) : 200_000;
+        int fanOut  = args.length > 1 ? Integer.parseInt(args[1]) : 16;
+        int ticks   = args.length > 2 ? Integer.parseInt(args[2]) : 200;
+        int maxSh   = args.length > 3 ? Integer.parseInt(args[3]) : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+
+        System.out.printf("neurons=%d synapses=%d ticks=%d%n", neurons, (long) neurons * fanOut, ticks);
+        System.out.printf("%8s %12s %8s %12s %14s%n", "shards", "ticks/s", "speedup", "KB/tick", "fired");
+
+        ShardCoordinator.Setup setup = new ShardCoordinator.Setup(neurons, fanOut, 0.05, 1, false, SEED);
+        double base = 0;
+        for (int s = 1; s <= maxSh; s = (s < maxSh) ? Math.min(s * 2, maxSh) : s + 1) {
+            Run r = run(setup, s, ticks);
+            if (s == 1) base = r.ticksPerSec;
+            System.out.printf("%8d %12.1f %7.2fx %12.1f %14d%n", s, r.ticksPerSec, r.ticksPerSec / base, r.bytesPerTick / 1024, r.fired);
+        }
+    }
+
+    private record Run(double ticksPerSec, double bytesPerTick, long fired) {}
+
+    private static Run run(ShardCoordinator.Setup setup, int shards, int ticks) throws IOException, InterruptedException {
+        List<Process> workers = new ArrayList<>();
+        try (ShardCoordinator c = new ShardCoordinator(shards)) {
+            for (int k = 0; k < shards; k++) workers.add(spawnWorker(c.port()));
+            c.start(setup, new GrowthPolicy(), TimeUnit.MINUTES.toMillis(5));
+
+            for (int i = 0; i < Math.min(20, ticks); i++) c.step(); // warm-up
+            long bytes0 = c.bytesExchanged(), fired = 0;
+            long t0 = System.nanoTime();
+            for (int i = 0; i < ticks; i++) fired += c.step().fired();
+            long dt = System.nanoTime() - t0;
+            return new Run(ticks * 1e9 / dt, (double) (c.bytesExchanged() - bytes0) / ticks, fired);
+        } finally {
+            for (Process p : workers) {
+                if (!p.waitFor(30, TimeUnit.SECONDS)) p.destroyForcibly();
+            }
+        }
+    }
+
+    /** A {@link ShardWorker} JVM on this classpath, with this JVM's heap and module options. */
+    static Process spawnWorker(int port) throws IOException {
+        List<String> cmd = new ArrayList<>();
+        cmd.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        for (String a : ManagementFactory.getRuntimeMXBean().getInputArguments()) {
+            if (a.startsWith("-Xm") || a.startsWith("-XX:") || a.startsWith("--add-modules")) cmd.add(a);
+        }
+        cmd.add("-cp");
+        cmd.add(System.getProperty("java.class.path"));
+        cmd.add(ShardWorker.class.getName());
+        cmd.add("127.0.0.1:" + port);
+        return new ProcessBuilder(cmd).inheritIO().start();
+    }
+}
@@ -0,0 +1,121 @@
+package com.neurogenesis.engine;
+
+import com.neurogenesis.model.Checkpoint;
+import com.neurogenesis.model.GrowthPolicy;
+import com.neurogenesis.model.NetworkBuilder;
+import com.neurogenesis.model.NeuralNetwork;
+import com.neurogenesis.model.ShardMap;
+import com.neurogenesis.model.SpikeBatch;
+import com.neurogenesis.model.TickStats;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.nio.file.Path;
+
+/**
+ * One shard of a partitioned run, normally a process of its own: connects to
+ * a {@link ShardCoordinator}, builds (or loads) its slice of the network as
+ * told, then ticks in step with the other shards until the coordinator
+ * stops it. Each tick it sends the spikes of its own neurons and gets back
+ * everyone's, plus how many neurons to grow and whether to checkpoint.
+ *
+ * Usage: ShardWorker HOST:PORT
+ */
+public final class ShardWorker {
+    private final InetSocketAddress coordinator;
+
+    public ShardWorker(InetSocketAddress coordinator) { this.coordinator = coordinator; }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 1 || args[0].lastIndexOf(':') < 0) {
+            System.err.println("usage: ShardWorker HOST:PORT");
+            System.exit(2);
+        }
+        int colon = args[0].lastIndexOf(':');
+        new ShardWorker(new InetSocketAddress(args[0].substring(0, colon), Integer.parseInt(args[0].substring(colon + 1)))).run();
+    }
+
+    /** Runs until the coordinator sends STOP (or the connection drops, as an IOException). */
+    public void run() throws IOException {
+        try (ShardLink link = new ShardLink(SocketChannel.open(coordinator))) {
+            // CONFIG: who we are and what to build or load
+            ByteBuffer c = link.receive(ShardLink.CONFIG);
+            int index = c.getInt(), shards = c.getInt(), baseNeurons = c.getInt();
+            long seed = c.getLong();
+            int neurons = c.getInt(), fanOut = c.getInt();
+            double firingRate = c.getDouble();
+            int maxDelay = c.getInt();
+            boolean lazy = c.get() != 0;
+            GrowthPolicy growth = new GrowthPolicy().setTargetSize(c.getInt()).setNeuronRate(c.getDouble())
+                    .setSynapseRate(c.getDouble()).setSynapsesPerNeuron(c.getDouble())
+                    .setMaxFanOut(c.getInt()).setMaxFanIn(c.getInt());
+            String resume = ShardLink.getString(c);
+
+            ShardMap map = new ShardMap(index, shards, baseNeurons);
+            NeuralNetwork net;
+            if (resume.isEmpty()) {
+                net = new NetworkBuilder(seed).neurons(neurons).fanOut(fanOut).firingRate(firingRate)
+                        .delays(1, Math.max(1, maxDelay)).shard(map).build();
+            } else {
+                net = Checkpoint.load(checkpointFile(Path.of(resume), index));
+                net.setShard(map);
+            }
+            net.setLazyDecay(lazy);
+            net.setGrowthPolicy(growth);
+
+            ByteBuffer r = link.begin(ShardLink.READY, 12);
+            r.putInt(net.getTick()).putInt(net.getNeuronStore().size()).putInt(net.getSynapseStore().count());
+            link.send();
+
+            SpikeBatch local = new SpikeBatch(), remote = new SpikeBatch();
+            TickStats last = null;
+            boolean saved = false;
+            while (true) {
+                // first half, then our spikes plus the previous tick's stats
+                int fired = net.beginShardTick(local);
+                ByteBuffer s = link.begin(ShardLink.SPIKES, 4 + 1 + 7 * 4 + local.encodedBytes());
+                s.putInt(net.getTick()).put((byte) (saved ? 1 : 0));
+                putStats(s, last);
+                local.write(s);
+                link.send();
+                saved = false;
+
+                // everyone's spikes, then the second half
+                ByteBuffer step = link.receive(ShardLink.STEP);
+                int tick = step.getInt(), grow = step.getInt();
+                byte flags = step.get();
+                String savePrefix = (flags & ShardLink.STEP_SAVE) != 0 ? ShardLink.getString(step) : null;
+                if ((flags & ShardLink.STEP_STOP) != 0) return;
+                if (tick != net.getTick()) throw new IOException("coordinator at tick " + tick + ", shard at " + net.getTick());
+                int n = step.getInt();
+                remote.clear();
+                for (int k = 0; k < n; k++) {
+                    int len = step.getInt();
+                    if (k != index) remote.read(step.slice(step.position(), len));
+                    step.position(step.position() + len);
+                }
+                last = net.endShardTick(remote, fired, grow);
+                if (savePrefix != null) {
+                    Checkpoint.save(net, checkpointFile(Path.of(savePrefix), index));
+                    saved = true;
+                }
+            }
+        }
+    }
+
+    /** Shard {@code index}'s checkpoint in a set saved under {@code prefix}. */
+    static Path checkpointFile(Path prefix, int index) {
+        return prefix.resolveSibling(prefix.getFileName() + "-" + index + ".ngcp");
+    }
+
+    private static void putStats(ByteBuffer b, TickStats s) {
+        if (s == null) {
+            for (int k = 0; k < 7; k++) b.putInt(0);
+            return;
+        }
+        b.putInt(s.tick()).putInt(s.fired()).putInt(s.strengthened()).putInt(s.decayed())
+                .putInt(s.pruned()).putInt(s.neuronsAdded()).putInt(s.synapsesAdded());
+    }
+}
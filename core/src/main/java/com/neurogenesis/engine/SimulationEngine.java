@@ -0,0 +1,222 @@
+package com.neurogenesis.engine;
+
+import com.neurogenesis.model.NeuralNetwork;
+import com.neurogenesis.model.Neuron;
+import com.neurogenesis.model.NeuralNetwork.DecisionType;
+import com.neurogenesis.model.Rng;
+import com.neurogenesis.model.TickMetrics;
+import com.neurogenesis.model.TickStats;
+
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Now supports two modes:
+ *  - neuronOnlyMode = true  -> spiking + Hebbian + pruning (biological-like)
+ *  - neuronOnlyMode = false -> your earlier "3 doors curiosity demo"
+ */
+public class SimulationEngine {
+    private ScheduledExecutorService exec;   // created on first start(), so stepOnce()-only engines own no thread
+    private final NeuralNetwork net;
+
+    private ScheduledFuture<?> task;
+    private volatile boolean neuronOnlyMode = true; // default to biological-like
+
+    // free-run: ticks back to back on its own thread, observers see a frame at publishHz
+    private Thread freeRunner;
+    private volatile boolean freeRunning;
+    private volatile double targetTicksPerSec = 0;   // 0 = as fast as possible
+    private volatile double publishHz = 30;
+    private volatile double ticksPerSec = 0;         // achieved, over the last half second or so
+    private volatile long framesSkipped = 0;         // frames not published because the last one was unread
+
+    // --- doors demo pieces (kept)
+    private final CuriosityEngine chooser;
+    private final DoorsScenario scenario;
+    private final FeedbackLoop feedback  = new FeedbackLoop();
+    private volatile double curiosityRate = 0.25;
+    private volatile boolean shuffleRequested;       // set by any thread, applied by the ticking one
+
+    public SimulationEngine(NeuralNetwork net) {
+        this.net = net;
+        this.chooser = new CuriosityEngine();
+        this.scenario = new DoorsScenario();
+    }
+
+    /** Seeds the doors demo (curiosity choices and door costs) for reproducible runs. */
+    public SimulationEngine(NeuralNetwork net, long seed) {
+        this(net, new Rng(seed));
+    }
+
+    /** Curiosity choices and door costs each get a stream split off {@code rng}. */
+    public SimulationEngine(NeuralNetwork net, Rng rng) {
+        this.net = net;
+        this.chooser = new CuriosityEngine(rng.split());
+        this.scenario = new DoorsScenario(rng.split());
+    }
+
+    public void setModeNeuronOnly(boolean on) { this.neuronOnlyMode = on; }
+    public boolean isNeuronOnlyMode() { return neuronOnlyMode; }
+    public void setCuriosityRate(double v) { this.curiosityRate = Math.max(0, Math.min(1, v)); }
+    /** New door costs, drawn by the ticking thread before its next doors decision. */
+    public void shuffleScenario() { shuffleRequested = true; }
+
+    /** Ticks every {@code periodMs}; progress goes to {@link NeuralNetwork#events()} and the snapshots. */
+    public synchronized void start(long periodMs) {
+        stop();
+        if (exec == null) exec = Executors.newSingleThreadScheduledExecutor();
+        task = exec.scheduleAtFixedRate(this::stepOnce, 0, periodMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Ticks as fast as possible, or paced to {@code ticksPerSec} if positive,
+     * on a dedicated thread. Observers get a snapshot {@link #setPublishRate
+     * publishHz} times a second instead of every tick, and only once the
+     * previous one was picked up, so a slow UI costs skipped frames rather
+     * than queued work. Tick events still go to {@link NeuralNetwork#events()}.
+     */
+    public synchronized void startFreeRun(double ticksPerSec) {
+        stop();
+        this.targetTicksPerSec = Math.max(0, ticksPerSec);
+        this.ticksPerSec = 0;
+        freeRunning = true;
+        freeRunner = new Thread(this::freeRun, "simulation-free-run");
+        freeRunner.setDaemon(true);
+        freeRunner.start();
+    }
+
+    public boolean isFreeRunning() { return freeRunning; }
+    /** Throttle for a running or later free run; 0 lifts it. */
+    public void setTargetTicksPerSecond(double v) { this.targetTicksPerSec = Math.max(0, v); }
+    public double getTargetTicksPerSecond() { return targetTicksPerSec; }
+    /** Snapshot frames per second while free-running (default 30). */
+    public void setPublishRate(double hz) { this.publishHz = Math.max(1, hz); }
+    /** Achieved free-run throughput, 0 when not running. */
+    public double getTicksPerSecond() { return ticksPerSec; }
+    public long getFramesSkipped() { return framesSkipped; }
+
+    private void freeRun() {
+        long now = System.nanoTime();
+        long paceStart = now, paced = 0;                       // throttle: ticks since paceStart
+        long rateStart = now, rateTicks = 0;
+        long nextFrame = now + (long) (1e9 / publishHz);
+        double rate = targetTicksPerSec;
+        try {
+            while (freeRunning) {
+                step();
+                paced++;
+                rateTicks++;
+                now = System.nanoTime();
+
+                double r = targetTicksPerSec;
+                if (r != rate) {
+                    rate = r;
+                    paceStart = now;
+                    paced = 0;
+                }
+                long due = rate > 0 ? paceStart + (long) (paced * 1e9 / rate) : now;
+                if (now - due > 1_000_000_000L / 4) {
+                    // fell far behind the throttle (slow ticks, GC): don't burst to catch up
+                    paceStart = now;
+                    paced = 0;
+                }
+                // ahead of the throttle: sleep until the next tick is due, publishing frames on the way
+                do {
+                    if (now >= nextFrame) {
+                        publishFrame();
+                        if (now - rateStart >= 500_000_000L) {
+                            ticksPerSec = rateTicks * 1e9 / (now - rateStart);
+                            rateStart = now;
+                            rateTicks = 0;
+                        }
+                        nextFrame = now + (long) (1e9 / publishHz);
+                    }
+                    if (now >= due || !freeRunning) break;
+                    LockSupport.parkNanos(Math.min(due, nextFrame) - now);
+                    now = System.nanoTime();
+                } while (true);
+            }
+        } finally {
+            net.publishSnapshot(); // observers end on the last tick
+            ticksPerSec = 0;
+        }
+    }
+
+    private void publishFrame() {
+        if (net.snapshots().hasUnread()) framesSkipped++;
+        else net.publishSnapshot();
+    }
+
+    /** One tick; the finished state (incl. the doors decision) is then published as a snapshot. */
+    public TickStats stepOnce() {
+        TickStats stats = step();
+        net.publishSnapshot();
+        return stats;
+    }
+
+    private TickStats step() {
+        return neuronOnlyMode ? stepNeuronOnly() : stepDoorsDemo();
+    }
+
+    private TickStats stepNeuronOnly() {
+        return net.tickNeuronOnly();
+    }
+
+    private TickStats stepDoorsDemo() {
+        TickStats stats = net.tickNeuronOnly(); // keep neurons alive underneath
+        TickMetrics m = net.getMetrics();
+        long lap = m != null ? TickMetrics.now() : 0;
+
+        List<Neuron> outputs = net.getOutputNeurons();   // cached: same list until the outputs change
+        scenario.setDoors(outputs);
+        if (shuffleRequested) {
+            shuffleRequested = false;
+            scenario.shuffleCosts();
+        }
+        CuriosityEngine.Choice choice = chooser.choose(outputs, curiosityRate);
+        Neuron chosen = choice.neuron();
+        if (m != null) lap = m.lap(TickMetrics.Phase.CHOOSE, lap);
+
+        DoorsScenario.Result res = scenario.evaluate(chosen);
+        if (m != null) lap = m.lap(TickMetrics.Phase.EVALUATE, lap);
+        feedback.apply(net, chosen, res.success());
+        if (m != null) m.lap(TickMetrics.Phase.FEEDBACK, lap);
+
+        DecisionType uiType = (choice.type() == CuriosityEngine.DecisionType.CURIOUS)
+                ? DecisionType.CURIOUS : DecisionType.LOGICAL;
+        net.recordDecision(chosen, uiType, res.success(), res.bestLabel());
+        return stats;
+    }
+
+    /** Stops either mode; returns once the tick in progress, if any, has finished. */
+    public synchronized void stop() {
+        if (task != null) {
+            task.cancel(false);
+            task = null;
+            // cancel does not wait for a tick already running on exec; its one thread runs this after it
+            try {
+                exec.submit(() -> { }).get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (ExecutionException e) {
+                throw new IllegalStateException(e); // an empty task cannot fail
+            }
+        }
+        if (freeRunner != null) {
+            freeRunning = false;
+            LockSupport.unpark(freeRunner);
+            try {
+                freeRunner.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt(); // it still stops after its current tick
+            }
+            freeRunner = null;
+        }
+    }
+
+    public synchronized void shutdown() {
+        stop();
+        if (exec != null) exec.shutdown();
+    }
+}
@@ -0,0 +1,170 @@
+package com.neurogenesis.model;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Binary checkpoint of a whole {@link NeuralNetwork}, written and read
+ * through a memory-mapped file with bulk primitive copies.
+ *
+ * Layout (little-endian, sections 8-byte aligned):
+ * <pre>
+ *   header   magic "NGCP", version, tick, neuron slots, synapses, RNG state length, spikes in flight
+ *   rng      tick RNG state ({@link Rng}, four longs)
+ *   neurons  id numbers, activation/bias/threshold/weight, lastFiredTick/visits,
+ *            role and flag bytes, then (slot, UTF-8) labels
+ *   synapses source, target, weight, usage, lastUsed, delay of the live edges in row order
+ *   spikes   due tick, target, amount of the spikes on delayed synapses ({@link SpikeQueue})
+ * </pre>
+ * Version 2 files (no delays, no spike section) still load.
+ * The magic is written last, after everything else was forced to disk, so a
+ * half-written file is rejected on load. Removed neurons keep their slot
+ * so dense ids survive a round trip; tombstoned and orphaned synapses are
+ * dropped. The parallelism setting, growth policy and doors decision are
+ * runtime configuration and are not part of the checkpoint.
+ */
+public final class Checkpoint {
+    static final int MAGIC = 0x5043474E;   // "NGCP" read little-endian
+    static final int VERSION = 3;   // 1 stored a serialized java.util.Random, 2 had no delays
+    private static final int HEADER = 64;
+
+    private Checkpoint() {}
+
+    /** Writes {@code net} to {@code file} under the network lock. */
+    public static void save(NeuralNetwork net, Path file) throws IOException {
+        synchronized (net) {
+            long bytes = bytes(net);
+            try (FileChannel ch = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                MappedByteBuffer buf = ch.map(FileChannel.MapMode.READ_WRITE, 0, bytes);
+                buf.order(ByteOrder.LITTLE_ENDIAN);
+                put(net, buf);
+                buf.force();
+                buf.putInt(0, MAGIC);
+                buf.force();
+            }
+        }
+    }
+
+    /**
+     * Copies {@code net} into an in-memory image of the file (in {@code reuse} if it
+     * is big enough), so the slow part, writing and forcing it with
+     * {@link #write}, can happen on another thread. Caller holds the network lock.
+     */
+    static ByteBuffer image(NeuralNetwork net, ByteBuffer reuse) throws IOException {
+        int bytes = (int) bytes(net);
+        ByteBuffer buf = reuse != null && reuse.capacity() >= bytes ? reuse.clear() : ByteBuffer.allocateDirect(bytes + bytes / 8);
+        buf.order(ByteOrder.LITTLE_ENDIAN).limit(bytes);
+        put(net, buf);
+        return buf.flip();
+    }
+
+    /** Writes an {@link #image} to {@code file}, magic last as in {@link #save}. */
+    static void write(ByteBuffer image, Path file) throws IOException {
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            MappedByteBuffer buf = ch.map(FileChannel.MapMode.READ_WRITE, 0, image.remaining());
+            buf.order(ByteOrder.LITTLE_ENDIAN);
+            buf.put(image.duplicate());
+            buf.force();
+            buf.putInt(0, MAGIC);
+            buf.force();
+        }
+    }
+
+    private static long bytes(NeuralNetwork net) throws IOException {
+        long bytes = HEADER + Rng.STATE_BYTES + net.getNeuronStore().savedBytes()
+                + SynapseStore.savedBytes(net.getSynapseStore().count()) + SpikeQueue.savedBytes(net.spikeQueue().pending());
+        if (bytes > Integer.MAX_VALUE) throw new IOException("checkpoint too large for one mapping: " + bytes + " bytes");
+        return bytes;
+    }
+
+    /** Everything but the magic (left 0) from the start of {@code buf}. */
+    private static void put(NeuralNetwork net, ByteBuffer buf) {
+        NeuronStore cells = net.getNeuronStore();
+        SynapseStore synapses = net.getSynapseStore();
+        SpikeQueue spikes = net.spikeQueue();
+        buf.putInt(0).putInt(VERSION).putInt(net.getTick())
+           .putInt(cells.size()).putInt(synapses.count()).putInt(Rng.STATE_BYTES).putInt(spikes.pending());
+        while (buf.position() < HEADER) buf.put((byte) 0);
+        net.rng().save(buf);
+        cells.save(buf);
+        synapses.save(buf);
+        spikes.save(buf, net.getTick());
+    }
+
+    /** Reads a network written by {@link #save}. */
+    public static NeuralNetwork load(Path file) throws IOException {
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.READ)) {
+            long bytes = ch.size();
+            if (bytes < HEADER || bytes > Integer.MAX_VALUE) throw new IOException(file + ": not a checkpoint");
+            MappedByteBuffer buf = ch.map(FileChannel.MapMode.READ_ONLY, 0, bytes);
+            buf.order(ByteOrder.LITTLE_ENDIAN);
+            if (buf.getInt() != MAGIC) throw new IOException(file + ": not a checkpoint (or incomplete)");
+            int version = buf.getInt();
+            if (version != VERSION && version != 2) throw new IOException(file + ": unsupported checkpoint version " + version);
+            int tick = buf.getInt(), neurons = buf.getInt(), synapses = buf.getInt(), rngLength = buf.getInt();
+            int inFlight = version >= 3 ? buf.getInt() : 0;
+            if (rngLength != Rng.STATE_BYTES) throw new IOException(file + ": bad RNG state length " + rngLength);
+            buf.position(HEADER);
+
+            try {
+                NeuralNetwork net = new NeuralNetwork(Rng.load(buf));
+                net.restore(tick, buf, neurons, synapses, inFlight, version >= 3);
+                return net;
+            } catch (RuntimeException e) {
+                throw new IOException(file + ": corrupt checkpoint", e);
+            }
+        }
+    }
+
+    // --- bulk copies between arrays and the mapped buffer (position advances past the data)
+    static long align(long bytes) { return (bytes + 7) & ~7L; }
+
+    static void pad(ByteBuffer buf) {
+        while ((buf.position() & 7) != 0) buf.put((byte) 0);
+    }
+
+    static void skipPad(ByteBuffer buf) {
+        buf.position((int) align(buf.position()));
+    }
+
+    static void putInts(ByteBuffer buf, int[] a, int n) { putInts(buf, a, 0, n); }
+
+    static void putInts(ByteBuffer buf, int[] a, int from, int n) {
+        buf.asIntBuffer().put(a, from, n);
+        buf.position(buf.position() + 4 * n);
+    }
+
+    static void putLongs(ByteBuffer buf, long[] a, int n) {
+        buf.asLongBuffer().put(a, 0, n);
+        buf.position(buf.position() + 8 * n);
+    }
+
+    static void putDoubles(ByteBuffer buf, double[] a, int n) { putDoubles(buf, a, 0, n); }
+
+    static void putDoubles(ByteBuffer buf, double[] a, int from, int n) {
+        buf.asDoubleBuffer().put(a, from, n);
+        buf.position(buf.position() + 8 * n);
+    }
+
+    static void getInts(ByteBuffer buf, int[] a, int n) {
+        buf.asIntBuffer().get(a, 0, n);
+        buf.position(buf.position() + 4 * n);
+    }
+
+    static void getLongs(ByteBuffer buf, long[] a, int n) {
+        buf.asLongBuffer().get(a, 0, n);
+        buf.position(buf.position() + 8 * n);
+    }
+
+    static void getDoubles(ByteBuffer buf, double[] a, int n) {
+        buf.asDoubleBuffer().get(a, 0, n);
+        buf.position(buf.position() + 8 * n);
+    }
+}
@@ -0,0 +1,114 @@
+package com.neurogenesis.model;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Where {@link SynapseStore} keeps its per-synapse columns (and its
+ * {@link EdgeSet} table): plain heap arrays ({@link #HEAP}, the default) or
+ * off-heap memory-mapped segments ({@link MappedColumns}).
+ *
+ * A column's {@code grow} returns a column with room for at least the asked
+ * capacity and the same contents: a copied array on the heap, the same
+ * column with more segments appended when mapped. The store drops columns
+ * it no longer uses with {@code free()}.
+ */
+abstract class Columns {
+    static final Columns HEAP = new Columns() {
+        @Override Ints ints(int capacity) { return new HeapInts(new int[capacity]); }
+        @Override Longs longs(int capacity) { return new HeapLongs(new long[capacity]); }
+        @Override Doubles doubles(int capacity) { return new HeapDoubles(new double[capacity]); }
+        @Override public String toString() { return "heap"; }
+    };
+
+    abstract Ints ints(int capacity);
+    abstract Longs longs(int capacity);
+    abstract Doubles doubles(int capacity);
+
+    /** Releases whatever the columns made by this factory still hold. */
+    void close() {}
+
+    abstract static class Ints {
+        abstract int get(int i);
+        abstract void set(int i, int v);
+        abstract int capacity();
+        abstract Ints grow(int capacity);
+        void free() {}
+
+        void fill(int from, int to, int v) {
+            for (int i = from; i < to; i++) set(i, v);
+        }
+
+        void read(ByteBuffer buf, int n) {
+            for (int i = 0; i < n; i++) set(i, buf.getInt());
+        }
+
+        void write(ByteBuffer buf, int from, int n) {
+            for (int i = from; i < from + n; i++) buf.putInt(get(i));
+        }
+    }
+
+    abstract static class Longs {
+        abstract long get(int i);
+        abstract void set(int i, long v);
+        abstract int capacity();
+        void free() {}
+
+        void fill(int from, int to, long v) {
+            for (int i = from; i < to; i++) set(i, v);
+        }
+    }
+
+    abstract static class Doubles {
+        abstract double get(int i);
+        abstract void set(int i, double v);
+        abstract int capacity();
+        abstract Doubles grow(int capacity);
+        void free() {}
+
+        /** The backing array for the bulk kernels, or null when the column is not one array. */
+        double[] array() { return null; }
+
+        void read(ByteBuffer buf, int n) {
+            for (int i = 0; i < n; i++) set(i, buf.getDouble());
+        }
+
+        void write(ByteBuffer buf, int from, int n) {
+            for (int i = from; i < from + n; i++) buf.putDouble(get(i));
+        }
+    }
+
+    // --- heap arrays
+    private static final class HeapInts extends Ints {
+        private final int[] a;
+        HeapInts(int[] a) { this.a = a; }
+        @Override int get(int i) { return a[i]; }
+        @Override void set(int i, int v) { a[i] = v; }
+        @Override int capacity() { return a.length; }
+        @Override Ints grow(int capacity) { return new HeapInts(Arrays.copyOf(a, capacity)); }
+        @Override void fill(int from, int to, int v) { Arrays.fill(a, from, to, v); }
+        @Override void read(ByteBuffer buf, int n) { Checkpoint.getInts(buf, a, n); }
+        @Override void write(ByteBuffer buf, int from, int n) { Checkpoint.putInts(buf, a, from, n); }
+    }
+
+    private static final class HeapLongs extends Longs {
+        private final long[] a;
+        HeapLongs(long[] a) { this.a = a; }
+        @Override long get(int i) { return a[i]; }
+        @Override void set(int i, long v) { a[i] = v; }
+        @Override int capacity() { return a.length; }
+        @Override void fill(int from, int to, long v) { Arrays.fill(a, from, to, v); }
+    }
+
+    private static final class HeapDoubles extends Doubles {
+        private final double[] a;
+        HeapDoubles(double[] a) { this.a = a; }
+        @Override double get(int i) { return a[i]; }
+        @Override void set(int i, double v) { a[i] = v; }
+        @Override int capacity() { return a.length; }
+        @Override Doubles grow(int capacity) { return new HeapDoubles(Arrays.copyOf(a, capacity)); }
+        @Override double[] array() { return a; }
+        @Override void read(ByteBuffer buf, int n) { Checkpoint.getDoubles(buf, a, n); }
+        @Override void write(ByteBuffer buf, int from, int n) { Checkpoint.putDoubles(buf, a, from, n); }
+    }
+}
@@ -0,0 +1,66 @@
+package com.neurogenesis.model;
+
+/**
+ * Thin view over one edge of a {@link SynapseStore}. Once the edge is
+ * pruned the view keeps its last values so stale readers (e.g. the UI)
+ * still see something sensible.
+ */
+public class Connection {
+    private final SynapseStore store;
+    private final Neuron from;
+    private final Neuron to;
+    private int pos;                      // position in the store, -1 once removed
+
+    // last known values, only used after detach()
+    private double weight;
+    private int usage;
+    private int lastUsedTick;
+    private int delay;
+
+    Connection(SynapseStore store, int pos, Neuron from, Neuron to) {
+        this.store = store;
+        this.pos = pos;
+        this.from = from;
+        this.to = to;
+    }
+
+    void moveTo(int p) { this.pos = p; }
+
+    void detach() {
+        weight = store.weight(pos);
+        usage = store.usage(pos);
+        lastUsedTick = store.lastUsed(pos);
+        delay = store.delay(pos);
+        pos = -1;
+    }
+
+    public boolean isAttached() { return pos >= 0; }
+
+    public Neuron getFrom() { return from; }
+    public Neuron getTo() { return to; }
+    public double getWeight() { int p = pos; return p >= 0 ? store.weight(p) : weight; }
+    public void setWeight(double w) {
+        int p = pos;
+        if (p >= 0) store.setWeight(p, w); else this.weight = w;
+    }
+
+    /** Conduction delay in ticks (1 = the next tick); change it with {@link NeuralNetwork#setDelay}. */
+    public int getDelay() { int p = pos; return p >= 0 ? store.delay(p) : delay; }
+
+    // for pruning/visuals
+    public int getUsage() { int p = pos; return p >= 0 ? store.usage(p) : usage; }
+    public void bumpUsage() {
+        int p = pos;
+        if (p >= 0) store.bumpUsage(p); else usage++;
+    }
+    public int getLastUsedTick() { int p = pos; return p >= 0 ? store.lastUsed(p) : lastUsedTick; }
+    public void setLastUsedTick(int t) {
+        int p = pos;
+        if (p >= 0) {
+            store.setLastUsed(p, t);
+            store.touch(p);
+        } else {
+            this.lastUsedTick = t;
+        }
+    }
+}
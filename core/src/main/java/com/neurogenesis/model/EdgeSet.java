@@ -0,0 +1,111 @@
+package com.neurogenesis.model;
+
+/**
+ * Open-addressing hash set of (from,to) neuron pairs packed into one long.
+ * Linear probing with backward-shift deletion, so there are no tombstones
+ * and no boxing; add/contains/remove are O(1) expected. The table lives in
+ * the store's {@link Columns}, so it goes off-heap with the synapses.
+ */
+final class EdgeSet {
+    private static final long EMPTY = -1L;    // ids are >= 0, so no real key is negative
+    private static final float LOAD = 0.6f;
+
+    private final Columns columns;
+    private Columns.Longs keys;
+    private int mask;
+    private int size;
+    private int resizeAt;
+
+    EdgeSet(Columns columns, int expected) {
+        this.columns = columns;
+        alloc(tableSizeFor((int) (Math.max(expected, 8) / LOAD) + 1));
+    }
+
+    static long key(int from, int to) {
+        return ((long) from << 32) | (to & 0xffffffffL);
+    }
+
+    int size() { return size; }
+
+    /** Grows the table once so {@code expected} keys fit without further rehashing. */
+    void ensureCapacity(int expected) {
+        if (expected > resizeAt) rehash(tableSizeFor((int) (expected / LOAD) + 1));
+    }
+
+    boolean contains(long k) {
+        for (int i = slot(k); ; i = (i + 1) & mask) {
+            long cur = keys.get(i);
+            if (cur == k) return true;
+            if (cur == EMPTY) return false;
+        }
+    }
+
+    /** Returns false if the pair was already present. */
+    boolean add(long k) {
+        if (size >= resizeAt) rehash((mask + 1) * 2);
+        int i = slot(k);
+        for (long cur; (cur = keys.get(i)) != EMPTY; i = (i + 1) & mask) {
+            if (cur == k) return false;
+        }
+        keys.set(i, k);
+        size++;
+        return true;
+    }
+
+    boolean remove(long k) {
+        int i = slot(k);
+        for (long cur; (cur = keys.get(i)) != k; i = (i + 1) & mask) {
+            if (cur == EMPTY) return false;
+        }
+        // backward shift: pull later entries of the probe run into the gap
+        int gap = i;
+        long kj;
+        for (int j = (i + 1) & mask; (kj = keys.get(j)) != EMPTY; j = (j + 1) & mask) {
+            int home = slot(kj);
+            if (((j - home) & mask) >= ((j - gap) & mask)) {
+                keys.set(gap, kj);
+                gap = j;
+            }
+        }
+        keys.set(gap, EMPTY);
+        size--;
+        return true;
+    }
+
+    void clear() {
+        keys.fill(0, mask + 1, EMPTY);
+        size = 0;
+    }
+
+    void free() { keys.free(); }
+
+    private int slot(long k) {
+        long h = k * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32)) & mask;
+    }
+
+    private void rehash(int cap) {
+        Columns.Longs old = keys;
+        int oldCap = mask + 1;
+        alloc(cap);
+        for (int j = 0; j < oldCap; j++) {
+            long k = old.get(j);
+            if (k == EMPTY) continue;
+            int i = slot(k);
+            while (keys.get(i) != EMPTY) i = (i + 1) & mask;
+            keys.set(i, k);
+        }
+        old.free();
+    }
+
+    private void alloc(int cap) {
+        keys = columns.longs(cap);
+        keys.fill(0, cap, EMPTY);
+        mask = cap - 1;
+        resizeAt = (int) (cap * LOAD);
+    }
+
+    private static int tableSizeFor(int n) {
+        return Integer.highestOneBit(Math.max(n - 1, 1)) << 1;
+    }
+}
@@ -0,0 +1,37 @@
+package com.neurogenesis.model;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Knobs for phase (F) growth. Rates are expected events per tick: 0.12
+ * means "one neuron with probability 0.12", 40.5 means "40 or 41 neurons".
+ * The defaults reproduce the original 24-neuron, 3-synapses-per-neuron demo.
+ */
+public class GrowthPolicy {
+    private int targetSize = 24;                  // stop adding neurons at this many
+    private double neuronRate = 0.12;             // new neurons per tick
+    private double synapseRate = 0.20;            // random synapses formed per tick
+    private double synapsesPerNeuron = 3.0;       // stop forming synapses above this density
+    private int maxFanOut = Integer.MAX_VALUE;
+    private int maxFanIn = Integer.MAX_VALUE;
+
+    public int getTargetSize() { return targetSize; }
+    public GrowthPolicy setTargetSize(int n) { this.targetSize = n; return this; }
+    public double getNeuronRate() { return neuronRate; }
+    public GrowthPolicy setNeuronRate(double r) { this.neuronRate = Math.max(0, r); return this; }
+    public double getSynapseRate() { return synapseRate; }
+    public GrowthPolicy setSynapseRate(double r) { this.synapseRate = Math.max(0, r); return this; }
+    public double getSynapsesPerNeuron() { return synapsesPerNeuron; }
+    public GrowthPolicy setSynapsesPerNeuron(double d) { this.synapsesPerNeuron = d; return this; }
+    public int getMaxFanOut() { return maxFanOut; }
+    public GrowthPolicy setMaxFanOut(int k) { this.maxFanOut = k; return this; }
+    public int getMaxFanIn() { return maxFanIn; }
+    public GrowthPolicy setMaxFanIn(int k) { this.maxFanIn = k; return this; }
+
+    /** Number of events this tick for an expected {@code rate}; one draw when rate < 1. */
+    public static int draw(double rate, RandomGenerator rnd) {
+        int whole = (int) rate;
+        double frac = rate - whole;
+        return whole + (frac > 0 && rnd.nextDouble() < frac ? 1 : 0);
+    }
+}
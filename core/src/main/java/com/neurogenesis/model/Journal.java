@@ -0,0 +1,253 @@
+package com.neurogenesis.model;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Append-only binary journal of structural changes, kept in a directory
+ * next to periodic {@link Checkpoint}s so {@link JournalReplayer} can
+ * rebuild the network at any tick.
+ *
+ * The tick thread only writes fixed 32-byte records into an in-memory
+ * batch (under the network lock it already holds). Full batches, and the
+ * current one every {@code flushMillis}, are handed to a background writer
+ * thread, which appends them to {@code journal.ngj} and calls
+ * {@code force()} at most once per {@code syncMillis}. Batch buffers are
+ * pooled; if the writer falls behind the tick thread allocates another
+ * buffer rather than wait. Periodic checkpoints are copied into an
+ * in-memory image under the lock and written by the writer thread too,
+ * followed at once by their CHECKPOINT record. If the writer fails,
+ * recording stops: later records are dropped and {@link #failure} says why.
+ *
+ * Record: {@code int tick, int kind, int a, int b, long x, long y}, little-endian,
+ * after a 16-byte file header. Ticks never decrease along the file.
+ */
+public final class Journal implements Closeable {
+    static final int MAGIC = 0x4C4A474E;     // "NGJL" read little-endian
+    static final int VERSION = 1;
+    static final int HEADER = 16, RECORD = 32;
+    static final String FILE = "journal.ngj";
+
+    // record kinds: a, b, x, y
+    static final int NEURON_ADDED = 1;      // slot, -, id number, bias bits
+    static final int SYNAPSE_ADDED = 2;     // from, to, weight bits, delay (0 in old journals = 1)
+    static final int SYNAPSE_REMOVED = 3;   // from, to, -, -
+    static final int NEURON_REMOVED = 4;    // slot, -, -, -
+    static final int DECISION = 5;          // chosen slot or -1, flags (1 = curious, 2 = success), -, -
+    static final int CHECKPOINT = 6;        // tick of the checkpoint that contains everything before this record
+    static final int ROLE_SET = 7;          // slot, role ordinal, -, -
+    static final int DELAY_SET = 8;         // from, to, -, delay
+
+    private static final int BATCH_RECORDS = 4096;
+    private static final ByteBuffer STOP = ByteBuffer.allocate(0);
+
+    /** A periodic checkpoint waiting for the writer. */
+    private record Image(int tick, ByteBuffer bytes) {}
+
+    private final Path dir;
+    private final NeuralNetwork net;
+    private final FileChannel channel;
+    private final LinkedBlockingQueue<Object> toWrite = new LinkedBlockingQueue<>();
+    private final ConcurrentLinkedQueue<ByteBuffer> pool = new ConcurrentLinkedQueue<>();
+    private final Thread writer;
+    private final long flushNanos, syncNanos;
+    private volatile IOException failure;
+    private volatile boolean imagePending = false;
+    private volatile ByteBuffer spareImage;     // last written image, reused for the next one
+
+    // tick-thread state (guarded by the network lock)
+    private ByteBuffer batch;
+    private long lastHandOff = System.nanoTime();
+    private int checkpointEvery = 0, lastCheckpoint;
+
+    private Journal(Path dir, NeuralNetwork net, long flushMillis, long syncMillis) throws IOException {
+        this.dir = dir;
+        this.net = net;
+        this.flushNanos = TimeUnit.MILLISECONDS.toNanos(flushMillis);
+        this.syncNanos = TimeUnit.MILLISECONDS.toNanos(syncMillis);
+        this.channel = FileChannel.open(dir.resolve(FILE), StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+        ByteBuffer header = ByteBuffer.allocate(HEADER).order(ByteOrder.LITTLE_ENDIAN);
+        header.putInt(MAGIC).putInt(VERSION).putInt(RECORD).putInt(0).flip();
+        while (header.hasRemaining()) channel.write(header);
+        this.batch = newBatch();
+        this.writer = new Thread(this::writeLoop, "journal-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /**
+     * Starts journaling {@code net} into {@code dir} (created if missing, must
+     * not already hold a journal): writes a checkpoint of the current state,
+     * then records every structural change from now on.
+     */
+    public static Journal open(Path dir, NeuralNetwork net) throws IOException {
+        return open(dir, net, 50, 1000);
+    }
+
+    public static Journal open(Path dir, NeuralNetwork net, long flushMillis, long syncMillis) throws IOException {
+        Files.createDirectories(dir);
+        if (Files.exists(dir.resolve(FILE))) throw new IOException(dir + " already contains a journal");
+        synchronized (net) {
+            Journal j = new Journal(dir, net, flushMillis, syncMillis);
+            j.checkpoint();
+            net.setJournal(j);
+            return j;
+        }
+    }
+
+    /** Also writes a checkpoint every {@code ticks} ticks (0 = only the initial one); bounds replay time. */
+    public void setCheckpointEvery(int ticks) {
+        synchronized (net) { this.checkpointEvery = Math.max(0, ticks); }
+    }
+
+    /**
+     * Writes a checkpoint for the current tick (on the calling thread, under
+     * the network lock) and marks its place in the journal.
+     */
+    public void checkpoint() throws IOException {
+        synchronized (net) {
+            int t = net.getTick();
+            Checkpoint.save(net, dir.resolve(JournalReplayer.checkpointName(t)));
+            append(t, CHECKPOINT, t, 0, 0, 0);
+            handOff(); // a checkpoint is only usable once its marker is in the file
+            lastCheckpoint = t;
+        }
+    }
+
+    public Path directory() { return dir; }
+
+    // --- recording (tick thread, network lock held)
+    void neuronAdded(int tick, Neuron n, double bias) {
+        append(tick, NEURON_ADDED, n.getIndex(), 0, n.seq(), Double.doubleToRawLongBits(bias));
+    }
+
+    void synapseAdded(int tick, int from, int to, double w, int delay) {
+        append(tick, SYNAPSE_ADDED, from, to, Double.doubleToRawLongBits(w), delay);
+    }
+
+    void synapseRemoved(int tick, int from, int to) { append(tick, SYNAPSE_REMOVED, from, to, 0, 0); }
+
+    void delaySet(int tick, int from, int to, int delay) { append(tick, DELAY_SET, from, to, 0, delay); }
+
+    void neuronRemoved(int tick, int slot) { append(tick, NEURON_REMOVED, slot, 0, 0, 0); }
+
+    /** From {@link NeuronStore#setRole}, which may be called outside a tick, so this takes the lock itself. */
+    void roleSet(int slot, Neuron.Role r) {
+        synchronized (net) { append(net.getTick(), ROLE_SET, slot, r.ordinal(), 0, 0); }
+    }
+
+    void decision(int tick, Neuron chosen, boolean curious, boolean success) {
+        append(tick, DECISION, chosen != null ? chosen.getIndex() : -1, (curious ? 1 : 0) | (success ? 2 : 0), 0, 0);
+    }
+
+    private void append(int tick, int kind, int a, int b, long x, long y) {
+        if (!batch.hasRemaining()) handOff();
+        batch.putInt(tick).putInt(kind).putInt(a).putInt(b).putLong(x).putLong(y);
+    }
+
+    /** End of a tick: hands the batch to the writer if it has waited long enough; may checkpoint. */
+    void tickEnd(int tick) {
+        long now = System.nanoTime();
+        if (batch.position() > 0 && now - lastHandOff >= flushNanos) handOff();
+        if (checkpointEvery > 0 && tick - lastCheckpoint >= checkpointEvery && !imagePending && failure == null) {
+            try {
+                // the writer saves the image, then the batch holding just its CHECKPOINT record,
+                // so the marker does not wait for flushMillis (a paused run would never write it)
+                ByteBuffer image = Checkpoint.image(net, spareImage);
+                spareImage = null;
+                handOff();
+                imagePending = true;
+                toWrite.add(new Image(tick, image));
+                append(tick, CHECKPOINT, tick, 0, 0, 0);
+                handOff();
+                lastCheckpoint = tick;
+            } catch (IOException e) {
+                failure = e;
+            }
+        }
+    }
+
+    private void handOff() {
+        if (batch.position() == 0) return;
+        if (failure != null) { // the writer is gone: drop the records, keep the one buffer
+            batch.clear();
+            return;
+        }
+        batch.flip();
+        toWrite.add(batch);
+        batch = newBatch();
+        lastHandOff = System.nanoTime();
+    }
+
+    private ByteBuffer newBatch() {
+        ByteBuffer b = pool.poll();
+        if (b == null) b = ByteBuffer.allocateDirect(BATCH_RECORDS * RECORD).order(ByteOrder.LITTLE_ENDIAN);
+        b.clear();
+        return b;
+    }
+
+    // --- background writer: append batches, force() at most every syncNanos
+    private void writeLoop() {
+        long lastSync = System.nanoTime();
+        boolean unsynced = false;
+        try {
+            while (true) {
+                Object o = toWrite.poll(syncNanos, TimeUnit.NANOSECONDS);
+                if (o == STOP) break;
+                if (o instanceof Image img) {
+                    Checkpoint.write(img.bytes(), dir.resolve(JournalReplayer.checkpointName(img.tick())));
+                    spareImage = img.bytes();
+                    imagePending = false;
+                    continue;
+                }
+                ByteBuffer b = (ByteBuffer) o;
+                if (b != null) {
+                    while (b.hasRemaining()) channel.write(b);
+                    pool.offer(b);
+                    unsynced = true;
+                }
+                // b == null: nothing arrived for syncNanos, so sync what is pending
+                long now = System.nanoTime();
+                if (unsynced && (b == null || now - lastSync >= syncNanos)) {
+                    channel.force(false);
+                    lastSync = now;
+                    unsynced = false;
+                }
+            }
+            channel.force(false);
+        } catch (IOException e) {
+            failure = e;
+        } catch (InterruptedException e) {
+            failure = new InterruptedIOException("journal writer interrupted");
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /** Detaches from the network, writes what is left and syncs. */
+    @Override
+    public void close() throws IOException {
+        synchronized (net) {
+            net.setJournal(null);
+            handOff();
+        }
+        toWrite.add(STOP);
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        channel.close();
+        if (failure != null) throw failure;
+    }
+
+    /** First I/O error of the writer or a periodic checkpoint, if any. */
+    public IOException failure() { return failure; }
+}
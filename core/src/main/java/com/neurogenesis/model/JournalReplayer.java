@@ -0,0 +1,145 @@
+package com.neurogenesis.model;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.stream.Stream;
+
+/**
+ * Rebuilds a journaled network as it was at a given tick: loads the newest
+ * checkpoint at or before that tick and applies the journal records that
+ * follow its marker, up to and including the tick. Cost is bounded by the
+ * checkpoint interval, not by the length of the run.
+ *
+ * Structure (neurons, ids, synapses and their delays, roles, labels from the checkpoint, the
+ * last decision) is exact. Per-tick dynamics are not journaled, so
+ * weights, usage and firing state are those of the checkpoint, and synapses
+ * added afterwards carry their initial weight.
+ *
+ * Reads with positional I/O, so a journal that is still being written can be
+ * inspected; records past the last complete one are ignored.
+ */
+public final class JournalReplayer {
+    private static final int SCAN_RECORDS = 2048;
+
+    private final Path dir;
+
+    public JournalReplayer(Path dir) { this.dir = dir; }
+
+    static String checkpointName(int tick) { return String.format("checkpoint-%010d.ngcp", tick); }
+
+    /** Ticks that have a checkpoint, ascending. */
+    public int[] checkpointTicks() throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.map(p -> p.getFileName().toString())
+                    .filter(n -> n.matches("checkpoint-\\d{10}\\.ngcp"))
+                    .mapToInt(n -> Integer.parseInt(n.substring(11, 21)))
+                    .sorted().toArray();
+        }
+    }
+
+    /**
+     * The network at the end of {@code tick}. Starts from the newest checkpoint
+     * at or before it that loads and has its marker in the journal, so a
+     * checkpoint still being written (or lost in a crash) falls back to the
+     * one before.
+     */
+    public NeuralNetwork at(int tick) throws IOException {
+        int[] cps = checkpointTicks();
+        int k = Arrays.binarySearch(cps, tick);
+        if (k < 0) k = -k - 2;
+        if (k < 0) throw new IOException("no checkpoint at or before tick " + tick + " in " + dir);
+
+        try (FileChannel ch = FileChannel.open(dir.resolve(Journal.FILE), StandardOpenOption.READ)) {
+            ByteBuffer head = ByteBuffer.allocate(Journal.HEADER).order(ByteOrder.LITTLE_ENDIAN);
+            readFully(ch, head, 0);
+            if (head.getInt(0) != Journal.MAGIC || head.getInt(4) != Journal.VERSION || head.getInt(8) != Journal.RECORD) {
+                throw new IOException(dir + ": not a journal (or unsupported version)");
+            }
+            long records = (ch.size() - Journal.HEADER) / Journal.RECORD;
+            IOException last = null;
+            for (; k >= 0; k--) {
+                int from = cps[k];
+                long start = markerAfter(ch, records, from);
+                if (start < 0) {
+                    last = new IOException("journal has no marker for checkpoint " + from);
+                    continue;
+                }
+                NeuralNetwork net;
+                try {
+                    net = Checkpoint.load(dir.resolve(checkpointName(from)));
+                } catch (IOException e) {
+                    last = e;
+                    continue;
+                }
+                apply(ch, net, start, records, tick);
+                net.replayFinish(tick);
+                return net;
+            }
+            throw last;
+        } catch (RuntimeException e) {
+            throw new IOException(dir + ": journal does not match its checkpoints", e);
+        }
+    }
+
+    /** Record index just after the (last) CHECKPOINT marker for {@code cpTick}, or -1. */
+    private static long markerAfter(FileChannel ch, long records, int cpTick) throws IOException {
+        ByteBuffer rec = ByteBuffer.allocate(Journal.RECORD).order(ByteOrder.LITTLE_ENDIAN);
+        // ticks never decrease: binary search for the first record of cpTick
+        long lo = 0, hi = records;
+        while (lo < hi) {
+            long mid = (lo + hi) >>> 1;
+            readFully(ch, rec.clear(), offset(mid));
+            if (rec.getInt(0) < cpTick) lo = mid + 1; else hi = mid;
+        }
+        long found = -1;
+        for (long r = lo; r < records; r++) {
+            readFully(ch, rec.clear(), offset(r));
+            if (rec.getInt(0) != cpTick) break;
+            if (rec.getInt(4) == Journal.CHECKPOINT && rec.getInt(8) == cpTick) found = r + 1;
+        }
+        return found;
+    }
+
+    private static void apply(FileChannel ch, NeuralNetwork net, long from, long records, int tick) throws IOException {
+        ByteBuffer buf = ByteBuffer.allocate(SCAN_RECORDS * Journal.RECORD).order(ByteOrder.LITTLE_ENDIAN);
+        for (long r = from; r < records; ) {
+            int n = (int) Math.min(SCAN_RECORDS, records - r);
+            buf.clear().limit(n * Journal.RECORD);
+            readFully(ch, buf, offset(r));
+            buf.flip();
+            for (int k = 0; k < n; k++) {
+                int t = buf.getInt(), kind = buf.getInt(), a = buf.getInt(), b = buf.getInt();
+                long x = buf.getLong(), y = buf.getLong();
+                if (t > tick) return;
+                switch (kind) {
+                    case Journal.NEURON_ADDED -> net.replayAddNeuron(a, x, Double.longBitsToDouble(y));
+                    case Journal.SYNAPSE_ADDED -> net.replayConnect(a, b, Double.longBitsToDouble(x), (int) y);
+                    case Journal.SYNAPSE_REMOVED -> net.replayDisconnect(a, b);
+                    case Journal.NEURON_REMOVED -> net.replayRemoveNeuron(a);
+                    case Journal.DECISION -> net.replayDecision(a, (b & 1) != 0, (b & 2) != 0);
+                    case Journal.ROLE_SET -> net.replaySetRole(a, b);
+                    case Journal.DELAY_SET -> net.replaySetDelay(a, b, (int) y);
+                    case Journal.CHECKPOINT -> { }
+                    default -> throw new IOException("unknown journal record kind " + kind + " at " + (r + k));
+                }
+            }
+            r += n;
+        }
+    }
+
+    private static long offset(long record) { return Journal.HEADER + record * Journal.RECORD; }
+
+    private static void readFully(FileChannel ch, ByteBuffer buf, long pos) throws IOException {
+        while (buf.hasRemaining()) {
+            int n = ch.read(buf, pos);
+            if (n < 0) throw new IOException("journal truncated");
+            pos += n;
+        }
+    }
+}
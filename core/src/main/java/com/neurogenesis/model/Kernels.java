@@ -0,0 +1,121 @@
+package com.neurogenesis.model;
+
+/**
+ * Flat primitive-array loops for the two per-element tick passes: the
+ * firing decision (B) over neurons and the Hebbian update (D) over synapse
+ * weights. {@link #scalar()} is plain Java; {@link #vector()} uses
+ * {@code jdk.incubator.vector} and is only there when the JVM was started
+ * with {@code --add-modules jdk.incubator.vector}. Both produce bit-identical
+ * results: same operations in the same order, no fused multiply-add.
+ *
+ * {@link #best()} picks the vector kernels when available, unless the
+ * system property {@code neurogenesis.kernels=scalar} says otherwise.
+ */
+public abstract class Kernels {
+    public abstract String name();
+
+    /**
+     * (B) for neurons {@code [from, to)}: {@code fire[i] = alive[i] && (input[i] + bias[i]
+     * + gauss[i]*noiseStd > logitThreshold[i] || uniform[i] < spontaneous)}. Dead slots
+     * get false. Returns how many fire.
+     */
+    public abstract int decide(boolean[] alive, double[] input, double[] bias, double[] gauss, double noiseStd,
+                               double[] logitThreshold, double[] uniform, double spontaneous,
+                               boolean[] fire, int from, int to);
+
+    /**
+     * (D) for weights {@code [from, to)}: {@code w + eta*(1-w)} where {@code coActive},
+     * {@code w*(1-decay)} elsewhere, then clamped to {@code [wMin, wMax]}.
+     */
+    public abstract void hebbian(double[] w, boolean[] coActive, double eta, double decay,
+                                 double wMin, double wMax, int from, int to);
+
+    /**
+     * Firing threshold on the summed input: {@code sigmoid(x) > t} iff {@code x > logit(t)}.
+     * Thresholds at or above 1 never fire, at or below 0 always do.
+     */
+    static double logit(double t) {
+        if (t >= 1.0) return Double.POSITIVE_INFINITY;
+        if (t <= 0.0) return Double.NEGATIVE_INFINITY;
+        return Math.log(t / (1.0 - t));
+    }
+
+    public static Kernels scalar() { return Scalar.INSTANCE; }
+
+    /** The vector kernels, or null if the incubator module is not loaded. */
+    public static Kernels vector() { return VectorHolder.INSTANCE; }
+
+    public static Kernels best() { return Best.INSTANCE; }
+
+    @Override
+    public String toString() { return name(); }
+
+    // --- plain loops; also used by the vector kernels for the tail
+    static int decideRange(boolean[] alive, double[] input, double[] bias, double[] gauss, double noiseStd,
+                           double[] logitThreshold, double[] uniform, double spontaneous,
+                           boolean[] fire, int from, int to) {
+        int fired = 0;
+        for (int i = from; i < to; i++) {
+            boolean f = alive[i]
+                    && (input[i] + bias[i] + gauss[i]*noiseStd > logitThreshold[i] || uniform[i] < spontaneous);
+            fire[i] = f;
+            if (f) fired++;
+        }
+        return fired;
+    }
+
+    static void hebbianRange(double[] w, boolean[] coActive, double eta, double decay,
+                             double wMin, double wMax, int from, int to) {
+        double keep = 1.0 - decay;
+        for (int e = from; e < to; e++) {
+            double v = w[e];
+            v = coActive[e] ? v + eta * (1.0 - v) : v * keep;
+            w[e] = Math.max(wMin, Math.min(wMax, v));
+        }
+    }
+
+    private static final class Scalar extends Kernels {
+        static final Scalar INSTANCE = new Scalar();
+
+        @Override
+        public String name() { return "scalar"; }
+
+        @Override
+        public int decide(boolean[] alive, double[] input, double[] bias, double[] gauss, double noiseStd,
+                          double[] logitThreshold, double[] uniform, double spontaneous,
+                          boolean[] fire, int from, int to) {
+            return decideRange(alive, input, bias, gauss, noiseStd, logitThreshold, uniform, spontaneous, fire, from, to);
+        }
+
+        @Override
+        public void hebbian(double[] w, boolean[] coActive, double eta, double decay,
+                            double wMin, double wMax, int from, int to) {
+            hebbianRange(w, coActive, eta, decay, wMin, wMax, from, to);
+        }
+    }
+
+    private static final class VectorHolder {
+        static final Kernels INSTANCE = load();
+
+        private static Kernels load() {
+            if (ModuleLayer.boot().findModule("jdk.incubator.vector").isEmpty()) return null;
+            try {
+                // only touched by name, so this class loads without the module
+                return (Kernels) Class.forName("com.neurogenesis.model.VectorKernels")
+                        .getDeclaredConstructor().newInstance();
+            } catch (ReflectiveOperationException | LinkageError | UnsupportedOperationException e) {
+                return null;
+            }
+        }
+    }
+
+    private static final class Best {
+        static final Kernels INSTANCE = pick();
+
+        private static Kernels pick() {
+            if ("scalar".equals(System.getProperty("neurogenesis.kernels"))) return scalar();
+            Kernels v = vector();
+            return v != null ? v : scalar();
+        }
+    }
+}
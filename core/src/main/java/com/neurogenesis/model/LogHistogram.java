@@ -0,0 +1,73 @@
+package com.neurogenesis.model;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free log-linear histogram of non-negative longs (nanoseconds, bytes).
+ * Values below 32 get a bucket each; above that every power of two is split
+ * into 32 linear buckets, so a reported percentile is within ~3% of the
+ * true value across the whole long range. Recording is three uncontended
+ * atomic adds plus a compare-and-set when a new maximum appears; readers
+ * never stop writers and may see a count a few records ahead of the sum.
+ */
+public final class LogHistogram {
+    private static final int SUB_BITS = 5, SUB = 1 << SUB_BITS;
+    private static final int BUCKETS = (63 - SUB_BITS + 1) * SUB;     // values are below 2^63
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final AtomicLong count = new AtomicLong(), sum = new AtomicLong(), max = new AtomicLong();
+
+    public void record(long v) {
+        if (v < 0) v = 0;
+        counts.getAndIncrement(index(v));
+        count.getAndIncrement();
+        sum.getAndAdd(v);
+        for (long m; v > (m = max.get()); ) {
+            if (max.compareAndSet(m, v)) break;
+        }
+    }
+
+    static int index(long v) {
+        if (v < SUB) return (int) v;
+        int e = 63 - Long.numberOfLeadingZeros(v);               // >= SUB_BITS
+        return (e - SUB_BITS + 1) * SUB + (int) ((v >>> (e - SUB_BITS)) & (SUB - 1));
+    }
+
+    /** Smallest value that falls into bucket {@code i}. */
+    static long lowerBound(int i) {
+        if (i < SUB) return i;
+        int b = i / SUB;
+        return (long) (SUB + i % SUB) << (b - 1);
+    }
+
+    public long count() { return count.get(); }
+    public long max() { return max.get(); }
+    public double mean() {
+        long n = count.get();
+        return n == 0 ? 0.0 : (double) sum.get() / n;
+    }
+
+    /** Value at quantile {@code q} in [0, 1] (bucket midpoint, capped at the max); 0 when empty. */
+    public long percentile(double q) {
+        long n = count.get();
+        if (n == 0) return 0;
+        long rank = Math.max(1, (long) Math.ceil(q * n)), seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts.get(i);
+            if (seen >= rank) {
+                long lo = lowerBound(i), hi = i + 1 < BUCKETS ? lowerBound(i + 1) : Long.MAX_VALUE;
+                return Math.min(lo + (hi - lo) / 2, max.get());
+            }
+        }
+        return max.get();
+    }
+
+    /** Clears all counts; values recorded concurrently may land on either side. */
+    public void reset() {
+        for (int i = 0; i < BUCKETS; i++) counts.set(i, 0);
+        count.set(0);
+        sum.set(0);
+        max.set(0);
+    }
+}
@@ -0,0 +1,218 @@
+package com.neurogenesis.model;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+
+/**
+ * {@link Columns} in off-heap, file-backed memory: each column is a scratch
+ * file in {@code dir}, mapped in segments of 2^20 values that are appended
+ * as the column grows (existing segments never move). The OS pages the
+ * segments in and out, so a store can be larger than physical RAM, and the
+ * GC sees only a few small buffer objects per column however many synapses
+ * there are.
+ *
+ * A column the store frees (compaction makes new ones, the pair index
+ * rehashes) keeps its file and mappings on a spare list and is handed out
+ * again by the next {@code ints}/{@code longs}/{@code doubles} of the same
+ * width, stale values and all, so compactions alternate between the same
+ * files instead of leaving mappings for the GC to unmap. {@link #close}
+ * closes the spares. Column files are delete-on-close; leftovers after a
+ * crash are safe to remove. This is working storage, not persistence: use
+ * {@link Checkpoint}.
+ */
+final class MappedColumns extends Columns {
+    static final int SEGMENT_SHIFT = 20, SEGMENT = 1 << SEGMENT_SHIFT, SEGMENT_MASK = SEGMENT - 1;
+
+    private final Path dir;
+    private int files = 0;
+    private final ArrayDeque<Segments> spare4 = new ArrayDeque<>(), spare8 = new ArrayDeque<>();
+
+    MappedColumns(Path dir) {
+        try {
+            this.dir = Files.createDirectories(dir);
+        } catch (IOException e) {
+            throw new UncheckedIOException("cannot create " + dir, e);
+        }
+    }
+
+    Path dir() { return dir; }
+
+    private static int capacityOf(int segments) {
+        return (int) Math.min(Integer.MAX_VALUE, (long) segments << SEGMENT_SHIFT);
+    }
+
+    @Override Ints ints(int capacity) { return new MappedInts(segments(4), capacity); }
+    @Override Longs longs(int capacity) { return new MappedLongs(segments(8), capacity); }
+    @Override Doubles doubles(int capacity) { return new MappedDoubles(segments(8), capacity); }
+
+    @Override public String toString() { return "mapped:" + dir; }
+
+    /** A spare column file of this width, or a new one. */
+    private synchronized Segments segments(int width) {
+        Segments s = (width == 4 ? spare4 : spare8).poll();
+        if (s == null) return new Segments(this, open(), width);
+        s.spare = false;
+        return s;
+    }
+
+    private synchronized void release(Segments s) {
+        if (s.spare) return; // freed twice
+        s.spare = true;
+        (s.width == 4 ? spare4 : spare8).push(s);
+    }
+
+    /** Closes (and so deletes) the spare column files; columns still in use are freed by their store. */
+    @Override synchronized void close() {
+        for (Segments s : spare4) s.close();
+        for (Segments s : spare8) s.close();
+        spare4.clear();
+        spare8.clear();
+    }
+
+    /** Spare column files waiting for reuse. */
+    synchronized int spares() { return spare4.size() + spare8.size(); }
+
+    private synchronized FileChannel open() {
+        Path f = dir.resolve("synapses-" + ProcessHandle.current().pid() + "-" + (files++) + ".col");
+        try {
+            return FileChannel.open(f, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE, StandardOpenOption.DELETE_ON_CLOSE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("cannot create column file " + f, e);
+        }
+    }
+
+    /** The mapped segments of one column file. */
+    private static final class Segments {
+        private final MappedColumns owner;
+        private final FileChannel ch;
+        private final int width;
+        private MappedByteBuffer[] maps = new MappedByteBuffer[0];
+        private boolean spare = false;   // guarded by the owner
+
+        Segments(MappedColumns owner, FileChannel ch, int width) {
+            this.owner = owner;
+            this.ch = ch;
+            this.width = width;
+        }
+
+        int count() { return maps.length; }
+
+        /** Maps segments until {@code capacity} values fit. */
+        void ensure(int capacity) {
+            int first = maps.length, need = (int) (((long) capacity + SEGMENT - 1) >>> SEGMENT_SHIFT);
+            if (need <= first) return;
+            maps = Arrays.copyOf(maps, need);
+            long bytes = (long) SEGMENT * width;
+            try {
+                for (int k = first; k < need; k++) {
+                    // mapping past the end extends the (sparse) file
+                    maps[k] = ch.map(FileChannel.MapMode.READ_WRITE, k * bytes, bytes);
+                    maps[k].order(ByteOrder.nativeOrder());
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("cannot map column segment", e);
+            }
+        }
+
+        MappedByteBuffer map(int k) { return maps[k]; }
+
+        /** Back to the owner's spares, mappings kept. */
+        void free() { owner.release(this); }
+
+        void close() {
+            maps = new MappedByteBuffer[0]; // unmapped once the buffers are collected
+            try {
+                ch.close();
+            } catch (IOException ignored) {
+                // the file is delete-on-close; nothing else to release
+            }
+        }
+    }
+
+    private static final class MappedInts extends Ints {
+        private final Segments segs;
+        private IntBuffer[] seg = new IntBuffer[0];
+
+        MappedInts(Segments segs, int capacity) {
+            this.segs = segs;
+            grow(capacity);
+        }
+
+        @Override int get(int i) { return seg[i >>> SEGMENT_SHIFT].get(i & SEGMENT_MASK); }
+        @Override void set(int i, int v) { seg[i >>> SEGMENT_SHIFT].put(i & SEGMENT_MASK, v); }
+        @Override int capacity() { return capacityOf(seg.length); }
+
+        @Override Ints grow(int capacity) {
+            int k = seg.length; // a spare file comes with its segments already mapped
+            segs.ensure(Math.max(capacity, 1));
+            seg = Arrays.copyOf(seg, segs.count());
+            for (; k < seg.length; k++) seg[k] = segs.map(k).asIntBuffer();
+            return this;
+        }
+
+        @Override void free() {
+            segs.free();
+            seg = new IntBuffer[0];
+        }
+    }
+
+    private static final class MappedLongs extends Longs {
+        private final Segments segs;
+        private LongBuffer[] seg = new LongBuffer[0];
+
+        MappedLongs(Segments segs, int capacity) {
+            this.segs = segs;
+            segs.ensure(Math.max(capacity, 1));
+            seg = new LongBuffer[segs.count()];
+            for (int k = 0; k < seg.length; k++) seg[k] = segs.map(k).asLongBuffer();
+        }
+
+        @Override long get(int i) { return seg[i >>> SEGMENT_SHIFT].get(i & SEGMENT_MASK); }
+        @Override void set(int i, long v) { seg[i >>> SEGMENT_SHIFT].put(i & SEGMENT_MASK, v); }
+        @Override int capacity() { return capacityOf(seg.length); }
+
+        @Override void free() {
+            segs.free();
+            seg = new LongBuffer[0];
+        }
+    }
+
+    private static final class MappedDoubles extends Doubles {
+        private final Segments segs;
+        private DoubleBuffer[] seg = new DoubleBuffer[0];
+
+        MappedDoubles(Segments segs, int capacity) {
+            this.segs = segs;
+            grow(capacity);
+        }
+
+        @Override double get(int i) { return seg[i >>> SEGMENT_SHIFT].get(i & SEGMENT_MASK); }
+        @Override void set(int i, double v) { seg[i >>> SEGMENT_SHIFT].put(i & SEGMENT_MASK, v); }
+        @Override int capacity() { return capacityOf(seg.length); }
+
+        @Override Doubles grow(int capacity) {
+            int k = seg.length;
+            segs.ensure(Math.max(capacity, 1));
+            seg = Arrays.copyOf(seg, segs.count());
+            for (; k < seg.length; k++) seg[k] = segs.map(k).asDoubleBuffer();
+            return this;
+        }
+
+        @Override void free() {
+            segs.free();
+            seg = new DoubleBuffer[0];
+        }
+    }
+}
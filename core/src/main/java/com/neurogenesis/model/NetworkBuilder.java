@@ -0,0 +1,113 @@
+package com.neurogenesis.model;
+
+import java.nio.file.Path;
+
+/**
+ * Seeded generator for large random networks, shared by the scaling report,
+ * the headless runner and the JMH benchmarks. The same seed and settings
+ * always produce the same network, so numbers can be compared across
+ * versions of the tick.
+ */
+public final class NetworkBuilder {
+    private final long seed;
+    private int neurons = 24;
+    private int fanOut = 3;
+    private int outputs = 0;
+    private int inputs = 0;
+    private double firingRate = -1;       // < 0: keep the usual random biases
+    private double wLo = 0.05, wHi = 0.20;
+    private int dLo = 1, dHi = 1;
+    private Path offHeap;
+    private ShardMap shard;
+
+    public NetworkBuilder(long seed) { this.seed = seed; }
+
+    public NetworkBuilder neurons(int n) { this.neurons = n; return this; }
+    public NetworkBuilder fanOut(int k) { this.fanOut = k; return this; }
+    /** The last {@code k} neurons become OUTPUT neurons labelled "Door A", "Door B", ... */
+    public NetworkBuilder outputs(int k) { this.outputs = k; return this; }
+    /** The first {@code k} neurons become INPUT neurons labelled "In 0", "In 1", ..., for stimuli (see {@link StimulusQueue}). */
+    public NetworkBuilder inputs(int k) { this.inputs = k; return this; }
+    public NetworkBuilder weights(double lo, double hi) { this.wLo = lo; this.wHi = hi; return this; }
+    /** Synapse delays uniform in {@code [lo, hi]} ticks; default 1 (no delay column, no extra draws). */
+    public NetworkBuilder delays(int lo, int hi) { this.dLo = lo; this.dHi = hi; return this; }
+
+    /**
+     * Picks biases so a neuron with no input fires with roughly probability
+     * {@code p} from noise alone. Recurrent input and spontaneous firing add
+     * on top, so the real rate is somewhat higher.
+     */
+    public NetworkBuilder firingRate(double p) { this.firingRate = p; return this; }
+
+    /** Builds the synapses straight into memory-mapped columns under {@code dir} (see {@link NeuralNetwork#setSynapseStorage}). */
+    public NetworkBuilder offHeap(Path dir) { this.offHeap = dir; return this; }
+
+    /**
+     * Builds one shard's slice of the network (see {@link NeuralNetwork#setShard}):
+     * every neuron, but only the synapses into neurons {@code map} owns. All
+     * draws are made as for the whole network, so the shards' slices add up
+     * to exactly the network built without it; shard k's tick RNG is the
+     * whole network's jumped k times.
+     */
+    public NetworkBuilder shard(ShardMap map) { this.shard = map; return this; }
+
+    public NeuralNetwork build() {
+        Rng root = new Rng(seed);
+        Rng r = root.split();                     // structure; the network keeps the rest of the stream
+        Rng d = r;
+        if (dHi > 1) r = d.split();               // delays from their own stream: same graph with or without them
+        for (int k = 0; shard != null && k < shard.index(); k++) root.split(); // a stream of its own per shard
+        NeuralNetwork net = new NeuralNetwork(root);
+        if (offHeap != null) net.setSynapseStorage(offHeap);
+        NeuronStore cells = net.getNeuronStore();
+
+        double baseBias = 0;
+        if (firingRate >= 0) {
+            // fire iff bias + noise > logit(threshold); logistic approximation of the normal quantile
+            double p = Math.min(0.999, Math.max(0.001, firingRate));
+            double cut = Math.log(0.6 / 0.4);
+            baseBias = cut - NeuralNetwork.NOISE_STD * Math.log((1 - p) / p) / 1.702;
+        }
+        net.addNeurons(neurons);
+        for (int i = 0; i < neurons; i++) {
+            cells.setActivation(i, 0.0);
+            cells.setBias(i, firingRate >= 0
+                    ? baseBias + (r.nextDouble() - 0.5) * 0.05
+                    : (r.nextDouble() - 0.5) * 0.3);
+        }
+        int outs = Math.min(outputs, neurons);
+        for (int k = 0; k < outs; k++) {
+            int i = neurons - outs + k;
+            cells.setRole(i, Neuron.Role.OUTPUT);
+            cells.setLabel(i, "Door " + doorName(k));
+        }
+        for (int i = 0, ins = Math.min(inputs, neurons - outs); i < ins; i++) {
+            cells.setRole(i, Neuron.Role.INPUT);
+            cells.setLabel(i, "In " + i);
+        }
+
+        // appended row by row and compacted once, like connectAll, without materializing the edge list
+        int k = neurons > 1 ? Math.min(fanOut, neurons - 1) : 0;
+        SynapseStore syn = net.getSynapseStore();
+        for (int a = 0; a < neurons && k > 0; a++) {
+            for (int j = 0; j < k; j++) {
+                int b = r.nextInt(neurons - 1), t = b >= a ? b + 1 : b; // no self-loops
+                double w = wLo + r.nextDouble() * (wHi - wLo);
+                int delay = dHi > 1 ? dLo + d.nextInt(dHi - dLo + 1) : 1;
+                if (shard != null && !shard.owns(t)) continue;
+                int e = syn.add(a, t, w);
+                if (e >= 0 && delay > 1) syn.setDelay(e, delay);
+            }
+        }
+        syn.compact();
+        if (shard != null) net.setShard(shard);
+        return net;
+    }
+
+    /** "A".."Z", then "AA", "AB", ... */
+    public static String doorName(int k) {
+        StringBuilder sb = new StringBuilder();
+        for (int x = k; x >= 0; x = x / 26 - 1) sb.insert(0, (char) ('A' + x % 26));
+        return sb.toString();
+    }
+}
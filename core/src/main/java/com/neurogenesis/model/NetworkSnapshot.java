@@ -0,0 +1,105 @@
+package com.neurogenesis.model;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Complete, immutable-once-published copy of the network state at the end
+ * of one tick, for the UI and other observers. Neurons are numbered
+ * {@code 0..neuronCount()-1} inside the snapshot; {@link #neuronSlot} gives
+ * the stable dense id. Edges refer to neurons by that snapshot number.
+ *
+ * Buffers are recycled by {@link SnapshotPublisher}: always pair
+ * {@link SnapshotPublisher#acquire()} with {@link #release()}.
+ */
+public final class NetworkSnapshot {
+    private final SnapshotPublisher owner;
+    private final AtomicInteger refs = new AtomicInteger();
+    volatile boolean seen;                // acquired at least once since it was published
+
+    int tick;
+    int slotCount;
+
+    int neuronCount;
+    int[] slot = new int[0];
+    String[] id = new String[0];
+    String[] label = new String[0];
+    Neuron.Role[] role = new Neuron.Role[0];
+    boolean[] fired = new boolean[0];
+    double[] activation = new double[0];
+    int[] lastFiredTick = new int[0];
+
+    int edgeCount;
+    int[] edgeFrom = new int[0], edgeTo = new int[0], edgeLastUsed = new int[0];
+    double[] edgeWeight = new double[0];
+
+    String lastChosenId;
+    NeuralNetwork.DecisionType lastDecisionType;
+    boolean lastSuccess;
+
+    NetworkSnapshot(SnapshotPublisher owner) { this.owner = owner; }
+
+    // --- filled by NeuralNetwork.publishSnapshot() under the tick lock
+    void ensureNeurons(int n) {
+        if (slot.length >= n) return;
+        int cap = Math.max(n, slot.length * 2);
+        slot = Arrays.copyOf(slot, cap);
+        id = Arrays.copyOf(id, cap);
+        label = Arrays.copyOf(label, cap);
+        role = Arrays.copyOf(role, cap);
+        fired = Arrays.copyOf(fired, cap);
+        activation = Arrays.copyOf(activation, cap);
+        lastFiredTick = Arrays.copyOf(lastFiredTick, cap);
+    }
+
+    void ensureEdges(int m) {
+        if (edgeFrom.length >= m) return;
+        int cap = Math.max(m, edgeFrom.length * 2);
+        edgeFrom = Arrays.copyOf(edgeFrom, cap);
+        edgeTo = Arrays.copyOf(edgeTo, cap);
+        edgeLastUsed = Arrays.copyOf(edgeLastUsed, cap);
+        edgeWeight = Arrays.copyOf(edgeWeight, cap);
+    }
+
+    // --- reference counting
+    void resetRefs() {
+        refs.set(1);
+        seen = false;
+    }
+
+    boolean tryRetain() {
+        for (int r; (r = refs.get()) > 0; ) {
+            if (refs.compareAndSet(r, r + 1)) return true;
+        }
+        return false;
+    }
+
+    /** Gives the buffer back; it may be reused for a later tick once nobody holds it. */
+    public void release() {
+        if (refs.decrementAndGet() == 0) owner.recycle(this);
+    }
+
+    // --- read API
+    public int tick() { return tick; }
+    /** Upper bound (exclusive) of neuron slot ids, for arrays indexed by slot. */
+    public int slotCount() { return slotCount; }
+
+    public int neuronCount() { return neuronCount; }
+    public int neuronSlot(int k) { return slot[k]; }
+    public String neuronId(int k) { return id[k]; }
+    public String label(int k) { return label[k]; }
+    public Neuron.Role role(int k) { return role[k]; }
+    public boolean isFired(int k) { return fired[k]; }
+    public double activation(int k) { return activation[k]; }
+    public int lastFiredTick(int k) { return lastFiredTick[k]; }
+
+    public int edgeCount() { return edgeCount; }
+    public int edgeFrom(int j) { return edgeFrom[j]; }
+    public int edgeTo(int j) { return edgeTo[j]; }
+    public double edgeWeight(int j) { return edgeWeight[j]; }
+    public int edgeLastUsed(int j) { return edgeLastUsed[j]; }
+
+    public String getLastChosenId() { return lastChosenId; }
+    public NeuralNetwork.DecisionType getLastDecisionType() { return lastDecisionType; }
+    public boolean wasLastSuccess() { return lastSuccess; }
+}
@@ -0,0 +1,1005 @@
+package com.neurogenesis.model;
+
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.*;
+
+public class NeuralNetwork {
+    // primitive state; Neuron/Connection objects are views over these
+    private final NeuronStore cells = new NeuronStore(64);
+    private final SynapseStore synapses = new SynapseStore(cells, 256);
+    private final Rng rnd;
+
+    // dense list of alive neuron ids (swap-remove), plus the slot -> list position map
+    private int[] aliveIds = new int[64];
+    private int[] alivePos = new int[64];
+    private int aliveCount = 0;
+    // immutable list handed out by getNeurons(), rebuilt lazily after membership changes
+    private List<Neuron> neuronList = List.of();
+    private boolean neuronListStale = false;
+    // same per role, from the store's role index; rebuilt when that role's version moves
+    private final List<List<Neuron>> roleLists = new ArrayList<>(Collections.nCopies(Neuron.Role.values().length, null));
+    private final int[] roleListVersion = new int[Neuron.Role.values().length];
+
+    // per-tick scratch, reused so the dynamics allocate nothing
+    private double[] inputs = new double[64];
+    private double[] gauss = new double[64], uniform = new double[64];   // (B) noise draws per slot
+    private boolean[] coActive = new boolean[64];                        // (D) per synapse slot
+    private int strengthened, decayed, neuronsAdded, synapsesAdded;
+
+    // structured log: TickStats per tick plus growth/decision events, formatted only by readers
+    private final TickEvents events = new TickEvents(4096);
+
+    // neurons that fired in the last commit; event-driven propagation walks only their rows
+    private final SpikeFrontier frontier = new SpikeFrontier();
+    private volatile boolean eventDriven = true;
+    // spikes travelling along synapses with a delay > 1, delivered into inputs when due
+    private final SpikeQueue spikes = new SpikeQueue();
+    // external events pushed by other threads, drained at the start of each tick; null until asked for
+    private volatile StimulusQueue stimuli;
+    private final StimulusQueue.Sink stimulusSink = this::applyStimulus;
+
+    private volatile GrowthPolicy growth = new GrowthPolicy();
+
+    // flat loops for phases (B) and (D): SIMD when jdk.incubator.vector is loaded
+    private Kernels kernels = Kernels.best();
+
+    // multi-core phases (A)-(D); null = single-threaded
+    private ParallelTick parallel;
+
+    // partitioned run: the neurons this process owns, null when it owns all of them
+    private ShardMap shard;
+    private int[] ghosts = new int[64];     // other shards' neurons marked fired by the last commit
+    private int ghostCount = 0;
+    private int shardNeurons = 0;           // (F) neurons to add this tick, decided by the coordinator
+
+    // (E) schedule: synapses keyed on the tick they may next become prunable; rebuilt after compaction
+    private final PruneWheel pruneWheel = new PruneWheel();
+    private boolean usePruneWheel = true, pruneWheelStale = true;
+    private int pruneWheelLayout;
+
+    // per-phase timers, null unless setMetrics() attached one
+    private volatile TickMetrics metrics;
+
+    // structural change journal, null unless Journal.open() attached one
+    private Journal journal;
+
+    // end-of-tick copies for the UI/observers, off until someone asks for them
+    private final SnapshotPublisher snapshots = new SnapshotPublisher();
+    private volatile boolean publishing = false;
+
+    public NeuralNetwork() { this.rnd = new Rng(); }
+
+    /** Seeds the tick RNG (noise, spontaneous firing, growth) for reproducible runs. */
+    public NeuralNetwork(long seed) { this.rnd = new Rng(seed); }
+
+    /** Draws from {@code rnd}, e.g. a stream split off a run's root generator or restored from a checkpoint. */
+    public NeuralNetwork(Rng rnd) { this.rnd = rnd; }
+
+    // --- simulation tick
+    private int tick = 0;
+    public int getTick() { return tick; }
+
+    // --- optional demo decision memory (for UI ring when "doors mode" on)
+    public enum DecisionType { LOGICAL, CURIOUS }
+    private String lastChosenId = null;
+    private DecisionType lastDecisionType = null;
+    private boolean lastSuccess = false;
+    public void setLastDecision(String neuronId, DecisionType type, boolean success) {
+        this.lastChosenId = neuronId;
+        this.lastDecisionType = type;
+        this.lastSuccess = success;
+    }
+    /** Records a doors decision and logs it as a {@link TickEvents.Kind#DECISION} event. */
+    public synchronized void recordDecision(Neuron chosen, DecisionType type, boolean success, String bestLabel) {
+        setLastDecision(chosen != null ? chosen.getId() : null, type, success);
+        events.decision(tick, chosen, type == DecisionType.CURIOUS, success, bestLabel);
+        if (journal != null) journal.decision(tick, chosen, type == DecisionType.CURIOUS, success);
+    }
+    public String getLastChosenId() { return lastChosenId; }
+    public DecisionType getLastDecisionType() { return lastDecisionType; }
+    public boolean wasLastSuccess() { return lastSuccess; }
+
+    // --- parameters (tunable from engine/UI/population sweeps; changed under the tick lock)
+    static final double NOISE_STD = 0.35;
+    private double noiseStd = NOISE_STD;      // randomness in firing
+    private double spontaneous = 0.03;        // base chance to fire anyway
+    private double eta = 0.10;                // Hebbian strengthen
+    private double decay = 0.01;              // weight decay per tick
+    private final double wMin = 0.03, wMax = 1.8;
+    private int pruneGrace = 80;              // if not used for N ticks, allow prune
+    private double pruneBelow = 0.08;         // and weight below this
+
+    /** Hebbian rate (push toward 1 when co-active) and per-tick decay otherwise. */
+    public synchronized void setLearning(double eta, double decay) {
+        this.eta = eta;
+        this.decay = decay;
+        if (synapses.isLazyDecay()) synapses.setLazyDecay(true, decay, wMin, wMax);
+        pruneWheelStale = true;
+    }
+    public synchronized double getEta() { return eta; }
+    public synchronized double getDecay() { return decay; }
+
+    /** Prune a synapse unused for more than {@code grace} ticks once its weight is below {@code below}. */
+    public synchronized void setPruning(int grace, double below) {
+        this.pruneGrace = grace;
+        this.pruneBelow = below;
+        pruneWheelStale = true;
+    }
+    public synchronized int getPruneGrace() { return pruneGrace; }
+    public synchronized double getPruneBelow() { return pruneBelow; }
+
+    /** Firing noise (std of the Gaussian added to the input) and spontaneous firing chance. */
+    public synchronized void setFiringNoise(double noiseStd, double spontaneous) {
+        this.noiseStd = noiseStd;
+        this.spontaneous = spontaneous;
+    }
+
+    public void seed() {
+        if (aliveCount > 0) return;
+
+        // create a small core
+        Neuron n1 = addNeuron();
+        Neuron n2 = addNeuron();
+        Neuron n3 = addNeuron();
+        Neuron n4 = addNeuron();
+
+        connect(n1, n2, 0.4);
+        connect(n2, n3, 0.5);
+        connect(n3, n4, 0.6);
+        connect(n1, n3, 0.2);
+        connect(n2, n4, 0.3);
+
+        // keep "doors" neurons around for the optional demo (OUTPUT role)
+        Neuron doorA = addNeuron(); doorA.setRole(Neuron.Role.OUTPUT); doorA.setLabel("Door A");
+        Neuron doorB = addNeuron(); doorB.setRole(Neuron.Role.OUTPUT); doorB.setLabel("Door B");
+        Neuron doorC = addNeuron(); doorC.setRole(Neuron.Role.OUTPUT); doorC.setLabel("Door C");
+        connect(n2, doorA, rnd.nextDouble());
+        connect(n3, doorB, rnd.nextDouble());
+        connect(n4, doorC, rnd.nextDouble());
+    }
+
+    public synchronized Neuron addNeuron() {
+        Neuron n = register(cells.add(rnd));
+        if (journal != null) journal.neuronAdded(tick, n, n.getBias());
+        return n;
+    }
+
+    private Neuron register(Neuron n) {
+        int i = n.getIndex();
+        synapses.ensureRows(cells.size());
+        frontier.ensureCapacity(cells.size());
+        if (aliveCount == aliveIds.length) aliveIds = Arrays.copyOf(aliveIds, aliveCount * 2);
+        if (i >= alivePos.length) alivePos = Arrays.copyOf(alivePos, cells.capacity());
+        alivePos[i] = aliveCount;
+        aliveIds[aliveCount++] = i;
+        neuronListStale = true;
+        return n;
+    }
+
+    /** Adds {@code count} neurons (dense ids continue in order). */
+    public synchronized List<Neuron> addNeurons(int count) {
+        List<Neuron> added = new ArrayList<>(count);
+        for (int k = 0; k < count; k++) added.add(addNeuron());
+        return added;
+    }
+
+    /** Removes the a→b synapse (a tombstone until the next compaction); returns whether there was one. */
+    public synchronized boolean disconnect(Neuron a, Neuron b) {
+        int e = synapses.find(a.getIndex(), b.getIndex());
+        if (e < 0) return false;
+        if (journal != null) journal.synapseRemoved(tick, a.getIndex(), b.getIndex());
+        synapses.remove(e);
+        return true;
+    }
+
+    /** O(1) plus the neuron's out-degree: outgoing synapses are tombstoned, incoming ones go at the next compaction. */
+    public synchronized void removeNeuron(Neuron n) {
+        int i = n.getIndex();
+        if (!n.isAlive()) return;
+        n.setAlive(false);
+        n.setFired(false);
+        frontier.clear(i);
+        if (journal != null) journal.neuronRemoved(tick, i);
+        int pos = alivePos[i];
+        int last = aliveIds[--aliveCount];
+        aliveIds[pos] = last;
+        alivePos[last] = pos;
+        neuronListStale = true;
+        synapses.removeNeuron(i);
+    }
+
+    /** Adds a→b unless it is a self-loop or that synapse already exists; returns whether it was added. */
+    public synchronized boolean connect(Neuron a, Neuron b, double w) {
+        return connect(a, b, w, 1);
+    }
+
+    /**
+     * Same with a conduction delay: a spike of {@code a} reaches {@code b}'s
+     * input {@code delay} ticks later (1 = the next tick, up to
+     * {@link #MAX_DELAY}) via the spike calendar queue.
+     */
+    public synchronized boolean connect(Neuron a, Neuron b, double w, int delay) {
+        if (a == b) return false;
+        if (delay < 1 || delay > MAX_DELAY) throw new IllegalArgumentException("delay must be 1.." + MAX_DELAY + ": " + delay);
+        int e = synapses.add(a.getIndex(), b.getIndex(), w);
+        if (e < 0) return false;
+        synapses.setDelay(e, delay);
+        if (journal != null) journal.synapseAdded(tick, a.getIndex(), b.getIndex(), w, delay);
+        return true;
+    }
+
+    /** Changes the delay of the a→b synapse; returns whether there is one. Spikes already sent keep their delay. */
+    public synchronized boolean setDelay(Neuron a, Neuron b, int delay) {
+        if (delay < 1 || delay > MAX_DELAY) throw new IllegalArgumentException("delay must be 1.." + MAX_DELAY + ": " + delay);
+        int e = synapses.find(a.getIndex(), b.getIndex());
+        if (e < 0) return false;
+        if (synapses.delay(e) == delay) return true;
+        synapses.setDelay(e, delay);
+        if (journal != null) journal.delaySet(tick, a.getIndex(), b.getIndex(), delay);
+        return true;
+    }
+
+    /** Longest synapse delay in ticks. */
+    public static final int MAX_DELAY = SpikeQueue.MAX_DELAY;
+
+    /** Spikes sent along delayed synapses that have not arrived yet. */
+    public synchronized int getSpikesInFlight() { return spikes.pending(); }
+
+    /**
+     * Bulk version of {@link #connect} for building large networks: edges
+     * {@code from[k] -> to[k]} (dense neuron ids) are merged into the CSR
+     * rows in one O(N + E) pass. Self-loops and duplicates are skipped;
+     * returns how many synapses were added.
+     */
+    public synchronized int connectAll(int[] from, int[] to, double[] w, int count) {
+        if (journal == null) return synapses.addAll(from, to, w, count);
+        // journaled: one record per accepted edge, then the same single compaction
+        int accepted = 0;
+        for (int k = 0; k < count; k++) {
+            if (from[k] != to[k] && synapses.add(from[k], to[k], w[k]) >= 0) {
+                journal.synapseAdded(tick, from[k], to[k], w[k], 1);
+                accepted++;
+            }
+        }
+        synapses.compact();
+        return accepted;
+    }
+
+    /** The a→b synapse or null; the miss case is one hash probe. */
+    public synchronized Connection findConnection(Neuron a, Neuron b) {
+        int e = synapses.find(a.getIndex(), b.getIndex());
+        return e >= 0 ? synapses.view(e) : null;
+    }
+
+    /** Immutable list of alive neurons; rebuilt only after neurons were added or removed. */
+    public synchronized List<Neuron> getNeurons() {
+        if (neuronListStale) {
+            Neuron[] out = new Neuron[aliveCount];
+            for (int k = 0; k < aliveCount; k++) out[k] = cells.view(aliveIds[k]);
+            neuronList = List.of(out);
+            neuronListStale = false;
+        }
+        return neuronList;
+    }
+
+    /** Consistent copy of the live synapse views (taken under the tick lock). */
+    public synchronized List<Connection> getConnections() {
+        List<Connection> out = new ArrayList<>(synapses.count());
+        for (int e = 0, m = synapses.size(); e < m; e++) {
+            if (synapses.isLive(e)) out.add(synapses.view(e));
+        }
+        return Collections.unmodifiableList(out);
+    }
+
+    /**
+     * Immutable list of alive neurons with {@code role}, from the store's role
+     * index: the same instance is returned until a neuron gains or loses that
+     * role or is added/removed with it, so per-tick callers allocate nothing.
+     */
+    public synchronized List<Neuron> getNeurons(Neuron.Role role) {
+        int r = role.ordinal(), version = cells.roleVersion(role);
+        List<Neuron> list = roleLists.get(r);
+        if (list == null || roleListVersion[r] != version) {
+            Neuron[] out = new Neuron[cells.roleCount(role)];
+            for (int k = 0; k < out.length; k++) out[k] = cells.view(cells.withRole(role, k));
+            roleLists.set(r, list = List.of(out));
+            roleListVersion[r] = version;
+        }
+        return list;
+    }
+
+    public List<Neuron> getOutputNeurons() { return getNeurons(Neuron.Role.OUTPUT); }
+
+    /**
+     * Event-driven mode (default) accumulates input only along the outgoing
+     * rows of neurons in the fired frontier, so phase (A) costs O(spikes * fan-out).
+     * Off = the dense scan over every neuron's row. Both visit edges in the
+     * same order and give identical results.
+     */
+    public void setEventDriven(boolean on) { this.eventDriven = on; }
+    public boolean isEventDriven() { return eventDriven; }
+
+    /**
+     * Runs phases (A)-(D) on {@code threads} ForkJoin workers (see
+     * {@link ParallelTick}); pruning and growth stay sequential. Each
+     * partition gets its own RNG split from {@code seed}, so a given starting
+     * network, seed and thread count always produce the same run.
+     * {@code threads <= 1} switches back to the single-threaded tick.
+     */
+    public synchronized void setParallelism(int threads, long seed) {
+        if (threads > 1 && shard != null) throw new IllegalStateException("a shard ticks single-threaded");
+        if (parallel != null) parallel.close();
+        parallel = threads > 1 ? new ParallelTick(cells, synapses, frontier, threads, seed) : null;
+    }
+    public synchronized int getParallelism() { return parallel != null ? parallel.threads() : 1; }
+
+    /**
+     * Lazy decay: phase (D) writes only co-active synapses and the others
+     * read their missed decay in closed form (see {@link SynapseStore#setLazyDecay}),
+     * so the pass costs O(spikes * fan-out) instead of O(synapses). Results
+     * match the eager pass, with weights equal to within rounding. Off by default.
+     */
+    public synchronized void setLazyDecay(boolean on) { synapses.setLazyDecay(on, decay, wMin, wMax); }
+    public synchronized boolean isLazyDecay() { return synapses.isLazyDecay(); }
+
+    /**
+     * Keeps the synapse columns and the pair index in memory-mapped scratch
+     * files under {@code dir}, outside the Java heap and paged by the OS, so
+     * the network can outgrow the heap and even RAM (see {@link MappedColumns});
+     * null moves them back onto the heap. Existing synapses are moved and
+     * compacted. The tick, pruning and snapshots work unchanged; lazy decay
+     * is the better fit off-heap, since eager decay writes every synapse
+     * every tick.
+     */
+    public synchronized void setSynapseStorage(Path dir) {
+        synapses.moveTo(dir != null ? new MappedColumns(dir) : Columns.HEAP);
+    }
+    public synchronized boolean isSynapsesOffHeap() { return synapses.columns() != Columns.HEAP; }
+
+    /**
+     * Whether pruning visits only the synapses scheduled on a timing wheel
+     * (default) or scans every synapse each tick; both prune the same set.
+     */
+    public synchronized void setPruneWheel(boolean on) {
+        this.usePruneWheel = on;
+        this.pruneWheelStale = true;
+    }
+    public synchronized boolean isPruneWheel() { return usePruneWheel; }
+
+    /**
+     * Times every tick phase into {@code m} (see {@link TickMetrics}); null
+     * detaches, after which the tick costs one null check per phase again.
+     */
+    public void setMetrics(TickMetrics m) { this.metrics = m; }
+    public TickMetrics getMetrics() { return metrics; }
+
+    /** Loops used for the firing and Hebbian passes; every choice gives identical results. */
+    public synchronized void setKernels(Kernels k) { this.kernels = k; }
+    public synchronized Kernels getKernels() { return kernels; }
+
+    public GrowthPolicy getGrowthPolicy() { return growth; }
+    public void setGrowthPolicy(GrowthPolicy g) { this.growth = g; }
+
+    /**
+     * Where end-of-tick {@link NetworkSnapshot}s appear once publishing is on.
+     * Readers never take the network lock: {@code acquire()}, read, {@code release()}.
+     */
+    public SnapshotPublisher snapshots() { return snapshots; }
+    public void setSnapshotPublishing(boolean on) { this.publishing = on; }
+    public boolean isSnapshotPublishing() { return publishing; }
+
+    /**
+     * Copies the current state into a free snapshot buffer and publishes it
+     * with one atomic swap; a no-op unless publishing is on. O(N + E), never
+     * waits for readers.
+     */
+    public synchronized void publishSnapshot() {
+        if (!publishing) return;
+        NetworkSnapshot s = snapshots.beginWrite();
+        s.tick = tick;
+        s.slotCount = cells.size();
+        s.lastChosenId = lastChosenId;
+        s.lastDecisionType = lastDecisionType;
+        s.lastSuccess = lastSuccess;
+
+        int n = aliveCount;
+        s.ensureNeurons(n);
+        for (int k = 0; k < n; k++) {
+            int i = aliveIds[k];
+            s.slot[k] = i;
+            s.id[k] = cells.view(i).getId();
+            s.label[k] = cells.label(i);
+            s.role[k] = cells.role(i);
+            s.fired[k] = cells.isFired(i);
+            s.activation[k] = cells.activation(i);
+            s.lastFiredTick[k] = cells.lastFiredTick(i);
+        }
+        s.neuronCount = n;
+
+        // edges refer to neurons by their snapshot number, i.e. the position in aliveIds
+        s.ensureEdges(synapses.count());
+        int m = 0;
+        for (int e = 0, size = synapses.size(); e < size; e++) {
+            if (!synapses.isLive(e)) continue;
+            s.edgeFrom[m] = alivePos[synapses.source(e)];
+            s.edgeTo[m] = alivePos[synapses.target(e)];
+            s.edgeWeight[m] = synapses.weight(e);
+            s.edgeLastUsed[m] = synapses.lastUsed(e);
+            m++;
+        }
+        s.edgeCount = m;
+        snapshots.publish(s);
+    }
+
+    // --- journal support (see Journal, JournalReplayer)
+    void setJournal(Journal j) {
+        this.journal = j;
+        cells.setJournal(j);
+    }
+
+    void replayAddNeuron(int slot, long seq, double bias) {
+        if (slot != cells.size()) throw new IllegalStateException("journal out of step: neuron slot " + slot);
+        register(cells.add(seq));
+        cells.setBias(slot, bias);
+        cells.setActivation(slot, 0.0);
+    }
+
+    void replayConnect(int from, int to, double w, int delay) {
+        int e = synapses.add(from, to, w);
+        if (e >= 0 && delay > 1) synapses.setDelay(e, delay);
+    }
+
+    void replayDisconnect(int from, int to) {
+        int e = synapses.find(from, to);
+        if (e >= 0) synapses.remove(e);
+    }
+
+    void replaySetDelay(int from, int to, int delay) {
+        int e = synapses.find(from, to);
+        if (e < 0 || delay < 1 || delay > MAX_DELAY) {
+            throw new IllegalStateException("journal out of step: delay " + delay + " for " + from + "→" + to);
+        }
+        synapses.setDelay(e, delay);
+    }
+
+    void replayRemoveNeuron(int slot) { removeNeuron(cells.view(slot)); }
+
+    void replaySetRole(int slot, int ordinal) {
+        Neuron.Role r = StimulusQueue.role(ordinal);
+        if (r == null || slot >= cells.size()) throw new IllegalStateException("journal out of step: role " + ordinal + " for slot " + slot);
+        cells.setRole(slot, r);
+    }
+
+    void replayDecision(int slot, boolean curious, boolean success) {
+        setLastDecision(slot >= 0 ? cells.view(slot).getId() : null,
+                curious ? DecisionType.CURIOUS : DecisionType.LOGICAL, success);
+    }
+
+    void replayFinish(int tick) {
+        this.tick = tick;
+        synapses.advance(tick);
+        if (synapses.needsCompaction()) synapses.compact();
+    }
+
+    // --- checkpoint support (see Checkpoint)
+    Rng rng() { return rnd; }
+    SpikeQueue spikeQueue() { return spikes; }
+
+    /** Fills a fresh network from a checkpoint and rebuilds the derived indexes. */
+    void restore(int tick, ByteBuffer buf, int neurons, int edges, int inFlight, boolean withDelays) {
+        if (cells.size() != 0) throw new IllegalStateException("restore into a non-empty network");
+        this.tick = tick;
+        cells.load(buf, neurons);
+        synapses.load(buf, edges, withDelays);
+        if (withDelays) spikes.load(buf, inFlight, tick, neurons);
+        synapses.advance(tick);
+        frontier.ensureCapacity(cells.size());
+        aliveIds = new int[Math.max(64, cells.capacity())];
+        alivePos = new int[aliveIds.length];
+        aliveCount = 0;
+        for (int i = 0; i < neurons; i++) {
+            if (!cells.isAlive(i)) continue;
+            alivePos[i] = aliveCount;
+            aliveIds[aliveCount++] = i;
+            if (cells.isFired(i)) frontier.set(i);
+        }
+        neuronListStale = true;
+    }
+
+    /**
+     * The queue other threads push stimuli and structural commands into
+     * without taking this network's lock (see {@link StimulusQueue}); created
+     * with room for {@code 1 << 16} events on first use. Each
+     * {@link #tickNeuronOnly()} first applies everything pushed before it
+     * started, in order: a spike or current stamped for tick T joins T's
+     * input (or the next tick's if T has passed), up to {@link #MAX_DELAY}
+     * ticks ahead. Events still in the queue are not part of a
+     * {@link Checkpoint}; drained ones waiting for their tick are. A shard
+     * (see {@link #setShard}) does not drain it.
+     */
+    public StimulusQueue stimuli() {
+        StimulusQueue q = stimuli;
+        return q != null ? q : stimuli(1 << 16);
+    }
+
+    /** Same, creating it with room for {@code capacity} events if there is none yet. */
+    public synchronized StimulusQueue stimuli(int capacity) {
+        if (stimuli == null) stimuli = new StimulusQueue(capacity);
+        return stimuli;
+    }
+
+    // one event from the stimulus queue, at the start of the tick (before (A))
+    private void applyStimulus(StimulusQueue.Kind kind, int at, int x, int y, double v) {
+        int n = cells.size();
+        boolean ok = x >= 0 && x < n && cells.isAlive(x);
+        switch (kind) {
+            case SPIKE, CURRENT -> {
+                int due = Math.max(at, tick);
+                ok &= due - tick < MAX_DELAY && (kind == StimulusQueue.Kind.SPIKE || Double.isFinite(v));
+                if (ok) spikes.schedule(tick, due - tick + 1, x, kind == StimulusQueue.Kind.SPIKE ? Double.POSITIVE_INFINITY : v);
+            }
+            case CONNECT -> {
+                ok &= y >= 0 && y < n && cells.isAlive(y) && Double.isFinite(v);
+                if (ok) ok = connect(cells.view(x), cells.view(y), v);
+            }
+            case DISCONNECT -> {
+                ok &= y >= 0 && y < n;
+                if (ok) ok = disconnect(cells.view(x), cells.view(y));
+            }
+            case ADD_NEURON -> {
+                Neuron.Role r = StimulusQueue.role(y);
+                ok = r != null;
+                if (ok) addNeuron().setRole(r);
+            }
+            case REMOVE_NEURON -> {
+                if (ok) removeNeuron(cells.view(x));
+            }
+            case SET_ROLE -> {
+                Neuron.Role r = StimulusQueue.role(y);
+                ok &= r != null;
+                if (ok) cells.setRole(x, r);
+            }
+        }
+        if (!ok) stimuli.drop();
+    }
+
+    /** Tick, growth and decision events; attach a {@link TickEvents.Reader} to consume them. */
+    public TickEvents events() { return events; }
+
+    public NeuronStore getNeuronStore() { return cells; }
+    public SynapseStore getSynapseStore() { return synapses; }
+
+    // ------------------------------
+    // Neuron-only dynamics step
+    // ------------------------------
+    public synchronized TickStats tickNeuronOnly() {
+        if (shard != null) throw new IllegalStateException("a shard ticks with beginShardTick/endShardTick");
+        tick++;
+        TickMetrics m = metrics;
+        long t0 = 0, lap = 0, alloc0 = -1;
+        if (m != null) {
+            alloc0 = TickMetrics.allocatedBytes();
+            t0 = lap = System.nanoTime();
+        }
+        StimulusQueue q = stimuli;
+        if (q != null) {
+            q.drain(stimulusSink);
+            if (m != null) lap = m.lap(TickMetrics.Phase.INGEST, lap);
+        }
+
+        int firedCount;
+        if (parallel != null) {
+            ensureScratch(cells.size());
+            parallel.propagate(inputs, tick);
+            if (synapses.hasDelays()) sendDelayed();
+            spikes.drain(tick, inputs);
+            if (m != null) lap = m.lap(TickMetrics.Phase.PROPAGATE, lap);
+            firedCount = parallel.decide(kernels, inputs, gauss, uniform, noiseStd, spontaneous);
+            if (cells.roleCount(Neuron.Role.INPUT) > 0) firedCount += cells.decideInputs(inputs, null);
+            if (m != null) lap = m.lap(TickMetrics.Phase.DECIDE, lap);
+            parallel.commit(tick);
+            if (m != null) lap = m.lap(TickMetrics.Phase.COMMIT, lap);
+            if (synapses.isLazyDecay()) {
+                applyHebbian(); // touches only co-active synapses, not worth partitioning
+            } else {
+                if (coActive.length < synapses.size()) coActive = new boolean[synapses.size() * 2];
+                strengthened = parallel.hebbian(kernels, coActive, eta, decay, wMin, wMax);
+                decayed = synapses.count() - strengthened;
+                synapses.advance(tick);
+            }
+        } else {
+            propagate();
+            if (m != null) lap = m.lap(TickMetrics.Phase.PROPAGATE, lap);
+            firedCount = decideFiring();
+            if (m != null) lap = m.lap(TickMetrics.Phase.DECIDE, lap);
+            commitFiring();
+            if (m != null) lap = m.lap(TickMetrics.Phase.COMMIT, lap);
+            applyHebbian();
+        }
+        if (m != null) lap = m.lap(TickMetrics.Phase.HEBBIAN, lap);
+        return finishTick(firedCount, m, t0, lap, alloc0);
+    }
+
+    // (E), (F), compaction and the tick's stats, shared by the whole and the sharded tick
+    private TickStats finishTick(int firedCount, TickMetrics m, long t0, long lap, long alloc0) {
+        int pruned = prune();
+        if (m != null) lap = m.lap(TickMetrics.Phase.PRUNE, lap);
+        grow();
+        if (m != null) lap = m.lap(TickMetrics.Phase.GROW, lap);
+        // batched clean-up of tombstones and appended edges
+        if (synapses.needsCompaction()) {
+            synapses.compact();
+            if (m != null) m.lap(TickMetrics.Phase.COMPACT, lap);
+        }
+
+        TickStats stats = new TickStats(tick, firedCount, strengthened, decayed, pruned, neuronsAdded, synapsesAdded);
+        events.tick(stats);
+        if (journal != null) journal.tickEnd(tick);
+        if (m != null) m.tickDone(stats, t0, alloc0);
+        return stats;
+    }
+
+    // ------------------------------
+    // Partitioned (sharded) tick
+    // ------------------------------
+    /**
+     * Makes this network one shard of a partitioned run: it decides and
+     * commits only the neurons {@code map} gives it, and holds only the
+     * synapses into them (see {@link NetworkBuilder#shard}), while every
+     * shard keeps all neuron slots so ids mean the same everywhere. The other
+     * shards' neurons are ghosts: they never fire here by themselves, but are
+     * marked fired when their owner reports a spike, so (A) and (D) see them
+     * like local ones. A shard ticks in two halves around the exchange of
+     * spikes, {@link #beginShardTick} and {@link #endShardTick}; see
+     * {@code engine.ShardCoordinator}. Null ends the partitioning.
+     */
+    public synchronized void setShard(ShardMap map) {
+        if (map != null && parallel != null) throw new IllegalStateException("a shard ticks single-threaded");
+        shard = map;
+        ghostCount = 0;
+        if (map == null) return;
+        for (int i = frontier.nextSetBit(0); i >= 0; i = frontier.nextSetBit(i + 1)) {
+            if (!map.owns(i)) addGhost(i); // e.g. restored from a shard checkpoint
+        }
+    }
+    public synchronized ShardMap getShard() { return shard; }
+
+    /**
+     * First half of a shard's tick: (A) propagate and (B) decide for the
+     * owned neurons; puts the ids that will fire into {@code fired},
+     * ascending, and returns how many.
+     */
+    public synchronized int beginShardTick(SpikeBatch fired) {
+        if (shard == null) throw new IllegalStateException("not a shard");
+        tick++;
+        propagate();
+        int n = cells.size(), count = 0;
+        for (int lo = shard.nextOwned(0, n), hi; lo < n; lo = shard.nextOwned(hi, n)) {
+            hi = shard.runEnd(lo, n);
+            rnd.fillGaussian(gauss, lo, hi);
+            rnd.fillUniform(uniform, lo, hi);
+            count += cells.decide(kernels, inputs, gauss, noiseStd, uniform, spontaneous, lo, hi);
+        }
+        if (cells.roleCount(Neuron.Role.INPUT) > 0) count += cells.decideInputs(inputs, shard);
+        fired.clear();
+        for (int lo = shard.nextOwned(0, n), hi; lo < n; lo = shard.nextOwned(hi, n)) {
+            hi = shard.runEnd(lo, n);
+            for (int i = lo; i < hi; i++) {
+                if (cells.isAlive(i) && cells.isNextFired(i)) fired.add(i);
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Second half: (C) commits the owned neurons plus the {@code remote}
+     * spikes of the other shards, then (D)-(F) as usual. (F) adds exactly
+     * {@code newNeurons} neurons, the number the coordinator drew for every
+     * shard, so ids stay in step; each is wired up by its owner only, and
+     * synapse growth adds only synapses into owned neurons. The stats count
+     * this shard's part of the tick.
+     */
+    public synchronized TickStats endShardTick(SpikeBatch remote, int fired, int newNeurons) {
+        if (shard == null) throw new IllegalStateException("not a shard");
+        for (int k = 0; k < ghostCount; k++) cells.setFired(ghosts[k], false);
+        ghostCount = 0;
+        frontier.clearAll();
+        int n = cells.size();
+        for (int lo = shard.nextOwned(0, n), hi; lo < n; lo = shard.nextOwned(hi, n)) {
+            hi = shard.runEnd(lo, n);
+            commitRange(lo, hi);
+        }
+        for (int k = 0, m = remote.size(); k < m; k++) {
+            int i = remote.get(k);
+            if (i < 0 || i >= n || shard.owns(i) || !cells.isAlive(i) || cells.isFired(i)) continue;
+            cells.setFired(i, true);
+            cells.setLastFiredTick(i, tick);
+            frontier.set(i);
+            addGhost(i);
+        }
+        applyHebbian();
+        shardNeurons = newNeurons;
+        return finishTick(fired, null, 0, 0, -1);
+    }
+
+    private void addGhost(int i) {
+        if (ghostCount == ghosts.length) ghosts = Arrays.copyOf(ghosts, ghostCount * 2);
+        ghosts[ghostCount++] = i;
+    }
+
+    // (A) compute inputs from currently fired neurons
+    void propagate() {
+        int n = cells.size();
+        ensureScratch(n);
+        Arrays.fill(inputs, 0, n, 0.0);
+
+        if (eventDriven) {
+            for (int i = frontier.nextSetBit(0); i >= 0; i = frontier.nextSetBit(i + 1)) deliverRow(i, false);
+        } else {
+            for (int i = 0; i < n; i++) {
+                if (cells.isFired(i)) deliverRow(i, false);
+            }
+        }
+        spikes.drain(tick, inputs); // arrivals along delayed synapses, after the direct ones
+    }
+
+    // the parallel pull skips delayed synapses; their spikes are queued here, in push order
+    private void sendDelayed() {
+        for (int i = frontier.nextSetBit(0); i >= 0; i = frontier.nextSetBit(i + 1)) deliverRow(i, true);
+    }
+
+    private void deliverRow(int i, boolean delayedOnly) {
+        SynapseStore s = synapses;
+        for (int e = s.rowStart(i), end = s.rowEnd(i); e < end; e++) deliver(s, e, delayedOnly);
+        for (int e = s.tailHead(i); e >= 0; e = s.tailNext(e)) deliver(s, e, delayedOnly);
+    }
+
+    private void deliver(SynapseStore s, int e, boolean delayedOnly) {
+        int t = s.target(e);
+        if (t < 0 || !cells.isAlive(t)) return; // tombstone, or into a removed neuron until compaction drops it
+        int d = s.delay(e);
+        if (d == 1) {
+            if (delayedOnly) return;
+            inputs[t] += s.weight(e);
+        } else {
+            spikes.schedule(tick, d, t, s.weight(e)); // sent now, lands in (A) of tick + d - 1
+        }
+        s.bumpUsage(e);
+        s.setLastUsed(e, tick);
+    }
+
+    private void ensureScratch(int n) {
+        if (inputs.length >= n) return;
+        int cap = cells.capacity();
+        inputs = new double[cap];
+        gauss = new double[cap];
+        uniform = new double[cap];
+    }
+
+    // (B) decide nextFired probabilistically: sigmoid(input + bias + noise) > threshold,
+    // tested as input + bias + noise > logit(threshold) so the kernel needs no exp()
+    int decideFiring() {
+        int n = cells.size();
+        ensureScratch(n);
+        rnd.fillGaussian(gauss, 0, n);
+        rnd.fillUniform(uniform, 0, n);
+        int fired = cells.decide(kernels, inputs, gauss, noiseStd, uniform, spontaneous, 0, n);
+        return cells.roleCount(Neuron.Role.INPUT) > 0 ? fired + cells.decideInputs(inputs, null) : fired;
+    }
+
+    // (C) two-phase commit: set fired, update activations for UI, rebuild the frontier
+    void commitFiring() {
+        frontier.clearAll();
+        commitRange(0, cells.size());
+    }
+
+    private void commitRange(int lo, int hi) {
+        for (int i = lo; i < hi; i++) {
+            if (!cells.isAlive(i)) continue;
+            boolean fired = cells.isNextFired(i);
+            cells.setFired(i, fired);
+            if (fired) {
+                cells.setLastFiredTick(i, tick);
+                frontier.set(i);
+            }
+            // activation for color intensity
+            cells.setActivation(i, fired ? 1.0 : Math.max(0.0, cells.activation(i)*0.90));
+        }
+    }
+
+    // (D) Hebbian: if pre fired AND post fired this tick → strengthen; otherwise decay.
+    // Co-active edges can only leave a fired neuron, so they are found row by row.
+    // Eager: mark them, then one flat pass updates every weight. Lazy: strengthen
+    // just them; the rest decay when next read.
+    void applyHebbian() {
+        SynapseStore s = synapses;
+        int m = s.size();
+        boolean lazy = s.isLazyDecay();
+        if (!lazy) {
+            if (coActive.length < m) coActive = new boolean[m * 2];
+            else Arrays.fill(coActive, 0, m, false);
+        }
+
+        int up = 0;
+        if (eventDriven) {
+            for (int i = frontier.nextSetBit(0); i >= 0; i = frontier.nextSetBit(i + 1)) up += coActiveRow(i, lazy);
+        } else {
+            for (int i = 0, n = cells.size(); i < n; i++) {
+                if (cells.isFired(i)) up += coActiveRow(i, lazy);
+            }
+        }
+        if (!lazy) s.hebbian(kernels, coActive, eta, decay, wMin, wMax, 0, m);
+        s.advance(tick);
+        strengthened = up;
+        decayed = s.count() - up;
+    }
+
+    private int coActiveRow(int i, boolean lazy) {
+        SynapseStore s = synapses;
+        int up = 0;
+        for (int e = s.rowStart(i), end = s.rowEnd(i); e < end; e++) up += coActive(s, e, lazy);
+        for (int e = s.tailHead(i); e >= 0; e = s.tailNext(e)) up += coActive(s, e, lazy);
+        return up;
+    }
+
+    private int coActive(SynapseStore s, int e, boolean lazy) {
+        int t = s.target(e);
+        if (t < 0 || !cells.isFired(t)) return 0;
+        if (lazy) s.strengthen(e, tick, eta); else coActive[e] = true;
+        return 1;
+    }
+
+    // (E) prune: rarely used & weak edges; avoid pruning edges into OUTPUT to keep demo intact
+    /** The tick counter step of {@link #tickNeuronOnly} alone (see {@link TickPhases#nextTick}). */
+    void nextTick() {
+        tick++;
+        synapses.advance(tick);
+    }
+
+    int prune() {
+        // the due-tick bound needs weights that only fall by decay: 0 <= eta <= 1, decay < 1
+        if (!usePruneWheel || eta < 0 || eta > 1 || decay >= 1) {
+            synapses.trackTouches(false);
+            pruneWheelStale = true;
+            return pruneScan();
+        }
+        SynapseStore s = synapses;
+        PruneWheel w = pruneWheel;
+        if (pruneWheelStale || pruneWheelLayout != s.layout() || w.time() != tick - 1) {
+            // slot numbers moved (or the rules changed): re-derive every due tick, O(E)
+            s.trackTouches(true);
+            w.clear(tick - 1, s.size(), s.columns());
+            for (int e = 0, m = s.size(); e < m; e++) {
+                if (s.target(e) >= 0) w.schedule(e, pruneDue(s, e));
+            }
+            pruneWheelStale = false;
+            pruneWheelLayout = s.layout();
+        } else {
+            // slots added or edited since last tick; plain use only delays pruning and is picked up on expiry
+            for (int k = 0, n = s.touchedCount(); k < n; k++) {
+                int e = s.touched(k);
+                if (s.target(e) >= 0) w.schedule(e, pruneDue(s, e));
+            }
+            s.clearTouched();
+        }
+
+        int pruned = 0;
+        PruneWheel.Bucket due = w.expire(tick);
+        for (int k = 0, n = due.size(); k < n; k++) {
+            int e = due.slot(k), t = s.target(e);
+            if (t < 0 || !cells.isAlive(t)) continue; // orphans go at compaction, not as prunes
+            int next = pruneDue(s, e);
+            if (next != tick) {
+                w.schedule(e, next);
+            } else if (cells.role(t) == Neuron.Role.OUTPUT) {
+                w.schedule(e, tick + 1); // exempt for now, but stays due in case the role changes
+            } else {
+                if (journal != null) journal.synapseRemoved(tick, s.source(e), t);
+                events.pruned(tick, cells.view(s.source(e)), cells.view(t));
+                s.remove(e); // O(1) tombstone; compaction happens in bulk at the end of the tick
+                pruned++;
+            }
+        }
+        return pruned;
+    }
+
+    /** (E) by checking every synapse; the reference for the wheel. */
+    private int pruneScan() {
+        SynapseStore s = synapses;
+        int pruned = 0;
+        for (int e = 0, m = s.size(); e < m; e++) {
+            int t = s.target(e);
+            if (t < 0 || !cells.isAlive(t) || cells.role(t) == Neuron.Role.OUTPUT) continue;
+            if (tick - s.lastUsed(e) > pruneGrace && s.weight(e) < pruneBelow) {
+                if (journal != null) journal.synapseRemoved(tick, s.source(e), t);
+                events.pruned(tick, cells.view(s.source(e)), cells.view(t));
+                s.remove(e); // O(1) tombstone; compaction happens in bulk at the end of the tick
+                pruned++;
+            }
+        }
+        return pruned;
+    }
+
+    /**
+     * Earliest tick at which slot {@code e} could be pruned: {@code tick} if
+     * it is prunable now, else when it goes stale, else a lower bound on when
+     * decay takes it under {@code pruneBelow}. Co-activity never pulls a
+     * weight below {@code min(w, 1)}, so decay alone bounds the fall; the
+     * result is rounded early, and an early slot is simply re-evaluated.
+     */
+    private int pruneDue(SynapseStore s, int e) {
+        long stale = (long) s.lastUsed(e) + pruneGrace + 1;
+        if (stale > tick) return (int) Math.min(stale, Integer.MAX_VALUE);
+        double w = s.weight(e);
+        if (w < pruneBelow) return tick;
+        double floor = Math.min(w, Math.min(1.0, wMax));
+        if (floor < pruneBelow) return tick + 1;
+        if (decay <= 0 || wMin >= pruneBelow) return PruneWheel.NEVER;
+        double ticks = Math.log(pruneBelow / floor) / Math.log(1.0 - decay);
+        return tick + (int) Math.max(1, Math.min(ticks - 1, 1 << 24));
+    }
+
+    // (F) growth: add neurons and synapses as the GrowthPolicy allows; returns how many of both
+    int grow() {
+        GrowthPolicy g = growth;
+        neuronsAdded = synapsesAdded = 0;
+        int fresh = 0;
+        if (shard != null) fresh = shardNeurons;
+        else if (aliveCount < g.getTargetSize()) fresh = Math.min(GrowthPolicy.draw(g.getNeuronRate(), rnd), g.getTargetSize() - aliveCount);
+        for (int k = 0; k < fresh; k++) {
+            // connect from a currently-fired neuron if available
+            int src = pickFired(k);
+            Neuron n = addNeuron();
+            if (shard != null && !shard.owns(n.getIndex())) continue; // its owner wires it up
+            if (src < 0 || synapses.outDegree(src) >= g.getMaxFanOut()) src = randomNeuron().getIndex();
+            if (synapses.outDegree(src) < g.getMaxFanOut()) {
+                connect(cells.view(src), n, 0.25 + rnd.nextDouble()*0.3);
+            }
+            events.neuronAdded(tick, n);
+            neuronsAdded++;
+        }
+        // a shard holds about its share of the synapses, and only grows those into its own neurons
+        int shards = shard != null ? shard.count() : 1;
+        if ((long) synapses.count() * shards < aliveCount * g.getSynapsesPerNeuron()) {
+            int count = GrowthPolicy.draw(g.getSynapseRate(), rnd);
+            for (int k = 0; k < count; k++) {
+                Neuron a = randomNeuron();
+                Neuron b = randomNeuron();
+                if (a == b || shard != null && !shard.owns(b.getIndex())) continue;
+                if (synapses.outDegree(a.getIndex()) >= g.getMaxFanOut()
+                        || synapses.inDegree(b.getIndex()) >= g.getMaxFanIn()) continue;
+                if (connect(a, b, 0.15 + rnd.nextDouble()*0.3)) {
+                    events.synapseAdded(tick, a, b);
+                    synapsesAdded++;
+                }
+            }
+        }
+        return neuronsAdded + synapsesAdded;
+    }
+
+    /** First fired neuron for the first pick, then a random one from the frontier; -1 if none fired. */
+    private int pickFired(int k) {
+        if (k == 0) return frontier.nextSetBit(0);
+        int i = frontier.nextSetBit(rnd.nextInt(cells.size()));
+        return i >= 0 ? i : frontier.nextSetBit(0);
+    }
+
+    private Neuron randomNeuron() {
+        return cells.view(aliveIds[rnd.nextInt(aliveCount)]);
+    }
+
+    // legacy random tick (kept in case you still want it)
+    public synchronized String tickLegacy() {
+        StringBuilder log = new StringBuilder();
+
+        for (Neuron n : getNeurons()) {
+            boolean prob = rnd.nextDouble() < 0.15;
+            n.setProbabilistic(prob);
+            if (!prob) n.setActivation(rnd.nextDouble());
+        }
+        log.append("[~] Legacy tick (random states)\n");
+        return log.toString();
+    }
+}
+
@@ -0,0 +1,78 @@
+package com.neurogenesis.model;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Thin view over one slot of a {@link NeuronStore}. All state lives in the
+ * store's primitive arrays; this object only carries the index and the id.
+ */
+public class Neuron {
+    /** INPUT neurons fire only from what reaches them (stimuli, synapses), never from noise. */
+    public enum Role { REGULAR, OUTPUT, INPUT }
+
+    private static final AtomicLong SEQ = new AtomicLong(0);
+
+    private final NeuronStore store;
+    private final int index;             // dense id into the store
+    private final long seq;              // numeric part of the id
+    private final String id;
+
+    Neuron(NeuronStore store, int index) {
+        this(store, index, SEQ.incrementAndGet());
+    }
+
+    /** View with a given id number (checkpoint restore); later new neurons get higher numbers. */
+    Neuron(NeuronStore store, int index, long seq) {
+        this.store = store;
+        this.index = index;
+        this.seq = seq;
+        this.id = "N" + seq;
+        SEQ.accumulateAndGet(seq, Math::max);
+    }
+
+    long seq() { return seq; }
+
+    // --- getters/setters
+    public String getId() { return id; }
+    public int getIndex() { return index; }
+    public double getActivation() { return store.activation(index); }
+    public void setActivation(double a) { store.setActivation(index, a); }
+    public boolean isProbabilistic() { return store.isProbabilistic(index); }
+    public void setProbabilistic(boolean b) { store.setProbabilistic(index, b); }
+    public boolean isAlive() { return store.isAlive(index); }
+    void setAlive(boolean a) { store.setAlive(index, a); }   // only via NeuralNetwork#removeNeuron
+
+    public Role getRole() { return store.role(index); }
+    public void setRole(Role role) { store.setRole(index, role); }
+    public String getLabel() { return store.label(index); }
+    public void setLabel(String label) { store.setLabel(index, label); }
+
+    // --- weight accessors (selection weight, distinct from connection weights)
+    public double getWeight() { return store.weight(index); }
+    public void setWeight(double w) { store.setWeight(index, Math.max(0.0, Math.min(1.0, w))); }
+
+    /**
+     * Adjust the neuron's internal weight by delta (positive = strengthen,
+     * negative = weaken). Keeps weight within [0,1].
+     */
+    public void adjustWeight(double delta) {
+        setWeight(getWeight() + delta);
+    }
+
+    // --- spiking helpers
+    public boolean isFired() { return store.isFired(index); }
+    public void setFired(boolean fired) { store.setFired(index, fired); }
+    public boolean isNextFired() { return store.isNextFired(index); }
+    public void setNextFired(boolean nextFired) { store.setNextFired(index, nextFired); }
+    public int getLastFiredTick() { return store.lastFiredTick(index); }
+    public void setLastFiredTick(int t) { store.setLastFiredTick(index, t); }
+
+    public double getBias() { return store.bias(index); }
+    public double getThreshold() { return store.threshold(index); }
+    public void setThreshold(double t) { store.setThreshold(index, t); }
+
+    // curiosity/novelty memory (kept; useful for later)
+    public int getVisits() { return store.visits(index); }
+    public void bumpVisit() { store.setVisits(index, store.visits(index) + 1); }
+    public double getNovelty() { return 1.0 / (1.0 + getVisits()); }
+}
@@ -0,0 +1,295 @@
+package com.neurogenesis.model;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Structure-of-arrays neuron state indexed by dense int ids (0..size-1).
+ * {@link Neuron} objects are thin views over one slot; removed neurons keep
+ * their slot (alive=false) so ids stay stable.
+ *
+ * The alive slots of each {@link Neuron.Role} are also kept in a per-role
+ * list ({@link #roleCount}, {@link #withRole}), updated by {@code setRole}
+ * and {@code setAlive}, so finding e.g. the outputs never scans every slot.
+ */
+public final class NeuronStore {
+    private static final Neuron.Role[] ROLES = Neuron.Role.values();
+
+    private int size = 0;
+
+    private boolean[] alive, fired, nextFired, probabilistic;
+    private double[] activation, bias, threshold, weight;
+    private double[] logitThreshold;   // threshold on the summed input, see Kernels#logit
+    private int[] lastFiredTick, visits;
+    private byte[] role;
+    private String[] label;
+    private Neuron[] views;
+
+    // alive slots per role, unordered (swap-remove), plus each slot's position in its role's list
+    private final int[][] byRole = new int[ROLES.length][];
+    private final int[] roleCount = new int[ROLES.length];
+    private int[] rolePos;
+    private final int[] roleVersion = new int[ROLES.length];   // bumps on every membership change
+    private Journal journal;                                     // records role changes, see NeuralNetwork#setJournal
+
+    public NeuronStore(int capacity) {
+        int cap = Math.max(capacity, 8);
+        alive = new boolean[cap];
+        fired = new boolean[cap];
+        nextFired = new boolean[cap];
+        probabilistic = new boolean[cap];
+        activation = new double[cap];
+        bias = new double[cap];
+        threshold = new double[cap];
+        logitThreshold = new double[cap];
+        weight = new double[cap];
+        lastFiredTick = new int[cap];
+        visits = new int[cap];
+        role = new byte[cap];
+        label = new String[cap];
+        views = new Neuron[cap];
+        rolePos = new int[cap];
+        for (int r = 0; r < ROLES.length; r++) byRole[r] = new int[8];
+    }
+
+    /** Allocates a new slot with the same defaults the old per-object neuron had; bias and activation from {@code rnd}. */
+    Neuron add(Rng rnd) {
+        int i = init();
+        activation[i] = rnd.nextDouble();
+        bias[i] = (rnd.nextDouble()-0.5) * 0.3; // slight individuality
+        Neuron n = new Neuron(this, i);
+        views[n.getIndex()] = n;
+        return n;
+    }
+
+    /** A slot with a given id number and zero bias/activation (journal replay sets them). */
+    Neuron add(long seq) {
+        Neuron n = new Neuron(this, init(), seq);
+        views[n.getIndex()] = n;
+        return n;
+    }
+
+    private int init() {
+        if (size == alive.length) grow(size * 2);
+        int i = size;
+        alive[i] = true;
+        activation[i] = 0.0;
+        bias[i] = 0.0;
+        setThreshold(i, 0.6);
+        weight[i] = 0.5;
+        lastFiredTick[i] = -9999;
+        size++;
+        list(i);
+        return i;
+    }
+
+    private void grow(int cap) {
+        alive = Arrays.copyOf(alive, cap);
+        fired = Arrays.copyOf(fired, cap);
+        nextFired = Arrays.copyOf(nextFired, cap);
+        probabilistic = Arrays.copyOf(probabilistic, cap);
+        activation = Arrays.copyOf(activation, cap);
+        bias = Arrays.copyOf(bias, cap);
+        threshold = Arrays.copyOf(threshold, cap);
+        logitThreshold = Arrays.copyOf(logitThreshold, cap);
+        weight = Arrays.copyOf(weight, cap);
+        lastFiredTick = Arrays.copyOf(lastFiredTick, cap);
+        visits = Arrays.copyOf(visits, cap);
+        role = Arrays.copyOf(role, cap);
+        label = Arrays.copyOf(label, cap);
+        views = Arrays.copyOf(views, cap);
+        rolePos = Arrays.copyOf(rolePos, cap);
+    }
+
+    // --- role index
+    private void list(int i) {
+        int r = role[i];
+        int[] ids = byRole[r];
+        if (roleCount[r] == ids.length) byRole[r] = ids = Arrays.copyOf(ids, ids.length * 2);
+        rolePos[i] = roleCount[r];
+        ids[roleCount[r]++] = i;
+        roleVersion[r]++;
+    }
+
+    private void unlist(int i) {
+        int r = role[i], pos = rolePos[i];
+        int last = byRole[r][--roleCount[r]];
+        byRole[r][pos] = last;
+        rolePos[last] = pos;
+        roleVersion[r]++;
+    }
+
+    private void rebuildRoles() {
+        Arrays.fill(roleCount, 0);
+        for (int i = 0; i < size; i++) if (alive[i]) list(i);
+    }
+
+    /** Number of alive slots with role {@code r}. */
+    public int roleCount(Neuron.Role r) { return roleCount[r.ordinal()]; }
+
+    /** The {@code k}-th alive slot with role {@code r}, {@code k < roleCount(r)}; order is stable until membership changes. */
+    public int withRole(Neuron.Role r, int k) { return byRole[r.ordinal()][k]; }
+
+    /** Changes whenever the list for {@code r} gains or loses a slot. */
+    public int roleVersion(Neuron.Role r) { return roleVersion[r.ordinal()]; }
+
+    // --- checkpoint section (see Checkpoint): ids, doubles, ints, role/flag bytes, then labels
+    private static final int ALIVE = 1, FIRED = 2, NEXT_FIRED = 4, PROBABILISTIC = 8;
+
+    long savedBytes() {
+        long bytes = Checkpoint.align((long) size * (8 + 4*8 + 2*4 + 2)) + 4;
+        for (int i = 0; i < size; i++) {
+            if (label[i] != null) bytes += 8 + label[i].getBytes(StandardCharsets.UTF_8).length;
+        }
+        return Checkpoint.align(bytes);
+    }
+
+    void save(ByteBuffer buf) {
+        int n = size;
+        long[] ids = new long[n];
+        byte[] flags = new byte[n];
+        int labelled = 0;
+        for (int i = 0; i < n; i++) {
+            ids[i] = views[i].seq();
+            flags[i] = (byte) ((alive[i] ? ALIVE : 0) | (fired[i] ? FIRED : 0)
+                    | (nextFired[i] ? NEXT_FIRED : 0) | (probabilistic[i] ? PROBABILISTIC : 0));
+            if (label[i] != null) labelled++;
+        }
+        Checkpoint.putLongs(buf, ids, n);
+        Checkpoint.putDoubles(buf, activation, n);
+        Checkpoint.putDoubles(buf, bias, n);
+        Checkpoint.putDoubles(buf, threshold, n);
+        Checkpoint.putDoubles(buf, weight, n);
+        Checkpoint.putInts(buf, lastFiredTick, n);
+        Checkpoint.putInts(buf, visits, n);
+        buf.put(role, 0, n);
+        buf.put(flags, 0, n);
+        Checkpoint.pad(buf);
+
+        buf.putInt(labelled);
+        for (int i = 0; i < n; i++) {
+            if (label[i] == null) continue;
+            byte[] utf = label[i].getBytes(StandardCharsets.UTF_8);
+            buf.putInt(i).putInt(utf.length).put(utf);
+        }
+        Checkpoint.pad(buf);
+    }
+
+    /** Replaces the whole store with {@code n} slots read from {@code buf}. */
+    void load(ByteBuffer buf, int n) {
+        if (size != 0) throw new IllegalStateException("load into a non-empty store");
+        grow(Math.max(n, 8));
+        size = n;
+        long[] ids = new long[n];
+        byte[] flags = new byte[n];
+        Checkpoint.getLongs(buf, ids, n);
+        Checkpoint.getDoubles(buf, activation, n);
+        Checkpoint.getDoubles(buf, bias, n);
+        Checkpoint.getDoubles(buf, threshold, n);
+        Checkpoint.getDoubles(buf, weight, n);
+        Checkpoint.getInts(buf, lastFiredTick, n);
+        Checkpoint.getInts(buf, visits, n);
+        buf.get(role, 0, n);
+        buf.get(flags, 0, n);
+        Checkpoint.skipPad(buf);
+        for (int i = 0; i < n; i++) {
+            int f = flags[i];
+            alive[i] = (f & ALIVE) != 0;
+            fired[i] = (f & FIRED) != 0;
+            nextFired[i] = (f & NEXT_FIRED) != 0;
+            probabilistic[i] = (f & PROBABILISTIC) != 0;
+            logitThreshold[i] = Kernels.logit(threshold[i]);
+            views[i] = new Neuron(this, i, ids[i]);
+            label[i] = null;
+        }
+        rebuildRoles();
+
+        for (int k = 0, labelled = buf.getInt(); k < labelled; k++) {
+            int i = buf.getInt();
+            byte[] utf = new byte[buf.getInt()];
+            buf.get(utf);
+            label[i] = new String(utf, StandardCharsets.UTF_8);
+        }
+        Checkpoint.skipPad(buf);
+    }
+
+    /**
+     * (B) over slots {@code [from, to)}: sets nextFired from the summed input and the
+     * per-slot noise draws (see {@link Kernels#decide}); returns how many fire.
+     */
+    int decide(Kernels k, double[] input, double[] gauss, double noiseStd, double[] uniform, double spontaneous,
+               int from, int to) {
+        return k.decide(alive, input, bias, gauss, noiseStd, logitThreshold, uniform, spontaneous, nextFired, from, to);
+    }
+
+    /**
+     * (B) for INPUT neurons, after {@link #decide}: they fire only when their
+     * input (stimuli, synapses) crosses the threshold by itself, without
+     * noise or spontaneous firing. {@code only} limits it to one shard's
+     * neurons (null = all). Returns the change in the fired count.
+     */
+    int decideInputs(double[] input, ShardMap only) {
+        int r = Neuron.Role.INPUT.ordinal(), delta = 0;
+        int[] ids = byRole[r];
+        for (int k = 0, n = roleCount[r]; k < n; k++) {
+            int i = ids[k];
+            if (only != null && !only.owns(i)) continue;
+            boolean f = input[i] + bias[i] > logitThreshold[i];
+            if (f != nextFired[i]) {
+                nextFired[i] = f;
+                delta += f ? 1 : -1;
+            }
+        }
+        return delta;
+    }
+
+    /** Number of slots handed out, including dead ones. */
+    public int size() { return size; }
+    public int capacity() { return alive.length; }
+    public Neuron view(int i) { return views[i]; }
+
+    public boolean isAlive(int i) { return alive[i]; }
+    void setAlive(int i, boolean a) {
+        if (alive[i] == a) return;
+        if (!a) unlist(i);
+        alive[i] = a;
+        if (a) list(i);
+    }
+    public boolean isFired(int i) { return fired[i]; }
+    public void setFired(int i, boolean f) { fired[i] = f; }
+    public boolean isNextFired(int i) { return nextFired[i]; }
+    public void setNextFired(int i, boolean f) { nextFired[i] = f; }
+    public boolean isProbabilistic(int i) { return probabilistic[i]; }
+    public void setProbabilistic(int i, boolean b) { probabilistic[i] = b; }
+
+    public double activation(int i) { return activation[i]; }
+    public void setActivation(int i, double a) { activation[i] = a; }
+    public double bias(int i) { return bias[i]; }
+    public void setBias(int i, double b) { bias[i] = b; }
+    public double threshold(int i) { return threshold[i]; }
+    public void setThreshold(int i, double t) {
+        threshold[i] = t;
+        logitThreshold[i] = Kernels.logit(t);
+    }
+    public double weight(int i) { return weight[i]; }
+    public void setWeight(int i, double w) { weight[i] = w; }
+
+    public int lastFiredTick(int i) { return lastFiredTick[i]; }
+    public void setLastFiredTick(int i, int t) { lastFiredTick[i] = t; }
+    public int visits(int i) { return visits[i]; }
+    public void setVisits(int i, int v) { visits[i] = v; }
+
+    public Neuron.Role role(int i) { return ROLES[role[i]]; }
+    public void setRole(int i, Neuron.Role r) {
+        if (role[i] == r.ordinal()) return;
+        if (alive[i]) unlist(i);
+        role[i] = (byte) r.ordinal();
+        if (alive[i]) list(i);
+        if (journal != null) journal.roleSet(i, r);
+    }
+
+    void setJournal(Journal j) { this.journal = j; }
+    public String label(int i) { return label[i]; }
+    public void setLabel(int i, String l) { label[i] = l; }
+}
@@ -0,0 +1,243 @@
+package com.neurogenesis.model;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Multi-core version of tick phases (A)-(D).
+ *
+ * Neurons are cut into contiguous partitions aligned to 64 ids. A partition
+ * owns its neurons' input slot, firing decision, commit and frontier words,
+ * and draws noise from its own {@link Rng} stream split off the root
+ * seed. Input accumulation pulls over an incoming-edge index, so each edge's
+ * usage counters are written by exactly one partition (its target's), and
+ * per-target sums are added in the same order as the sequential push.
+ * Synapses with a delay are skipped here; the network queues their spikes
+ * in one sequential pass after the pull.
+ * Hebbian updates are split over equal edge ranges. Each partition fills
+ * its noise draws or co-activity flags and hands its range to the same
+ * {@link Kernels} as the sequential tick.
+ *
+ * For a given starting network, seed and thread count the result is
+ * bit-for-bit reproducible.
+ */
+final class ParallelTick {
+    private static final int PROPAGATE = 0, DECIDE = 1, COMMIT = 2, HEBBIAN = 3;
+
+    private final NeuronStore cells;
+    private final SynapseStore synapses;
+    private final SpikeFrontier frontier;
+
+    private final ForkJoinPool pool;
+    private final int parts;
+    private final Rng[] rngs;
+    private final int[] partResult;
+
+    // neuron partition bounds, recomputed when the slot count changes
+    private final int[] bounds;
+    private int boundsFor = -1;
+
+    // incoming index: edges into t are inEdges[inOffsets[t] .. inOffsets[t+1]), ascending
+    private int[] inOffsets = new int[1];
+    private int[] inEdges = new int[0];
+    private int indexVersion = -1, indexRows = -1;
+
+    // arguments of the phase being run
+    private Kernels kernels;
+    private double[] inputs, gauss, uniform;
+    private boolean[] coActive;
+    private int tick;
+    private double noiseStd, spontaneous, eta, decay, wMin, wMax;
+
+    ParallelTick(NeuronStore cells, SynapseStore synapses, SpikeFrontier frontier, int threads, long seed) {
+        this.cells = cells;
+        this.synapses = synapses;
+        this.frontier = frontier;
+        this.pool = new ForkJoinPool(threads);
+        this.parts = threads * 4; // a few partitions per worker for balance
+        this.rngs = new Rng[parts];
+        Rng root = new Rng(seed);
+        for (int p = 0; p < parts; p++) rngs[p] = root.split();
+        this.partResult = new int[parts];
+        this.bounds = new int[parts + 1];
+    }
+
+    int threads() { return pool.getParallelism(); }
+
+    void close() { pool.shutdown(); }
+
+    // (A)
+    void propagate(double[] inputs, int tick) {
+        this.inputs = inputs;
+        this.tick = tick;
+        ensureIndex();
+        run(PROPAGATE);
+    }
+
+    // (B)
+    int decide(Kernels kernels, double[] inputs, double[] gauss, double[] uniform, double noiseStd, double spontaneous) {
+        this.kernels = kernels;
+        this.inputs = inputs;
+        this.gauss = gauss;
+        this.uniform = uniform;
+        this.noiseStd = noiseStd;
+        this.spontaneous = spontaneous;
+        run(DECIDE);
+        return sumResults();
+    }
+
+    // (C)
+    void commit(int tick) {
+        this.tick = tick;
+        frontier.ensureCapacity(cells.size());
+        run(COMMIT);
+    }
+
+    // (D)
+    int hebbian(Kernels kernels, boolean[] coActive, double eta, double decay, double wMin, double wMax) {
+        this.kernels = kernels;
+        this.coActive = coActive;
+        this.eta = eta;
+        this.decay = decay;
+        this.wMin = wMin;
+        this.wMax = wMax;
+        run(HEBBIAN);
+        return sumResults();
+    }
+
+    private void run(int phase) {
+        int n = cells.size();
+        if (n != boundsFor) {
+            int chunk = ((n + parts - 1) / parts + 63) & ~63;
+            for (int p = 0; p <= parts; p++) bounds[p] = Math.min(n, p * chunk);
+            boundsFor = n;
+        }
+        pool.invoke(new Slice(phase, 0, parts));
+    }
+
+    private int sumResults() {
+        int sum = 0;
+        for (int r : partResult) sum += r;
+        return sum;
+    }
+
+    private void runPartition(int phase, int p) {
+        switch (phase) {
+            case PROPAGATE -> pull(bounds[p], bounds[p + 1]);
+            case DECIDE -> partResult[p] = decide(p, bounds[p], bounds[p + 1]);
+            case COMMIT -> commit(bounds[p], bounds[p + 1]);
+            default -> {
+                long m = synapses.size();
+                partResult[p] = hebbian((int) (m * p / parts), (int) (m * (p + 1) / parts));
+            }
+        }
+    }
+
+    private void pull(int lo, int hi) {
+        SynapseStore s = synapses;
+        for (int t = lo; t < hi; t++) {
+            double sum = 0.0;
+            if (!cells.isAlive(t)) { // removed: its incoming synapses stay until compaction but carry nothing
+                inputs[t] = sum;
+                continue;
+            }
+            for (int k = inOffsets[t], end = inOffsets[t + 1]; k < end; k++) {
+                int e = inEdges[k];
+                if (s.target(e) >= 0 && cells.isFired(s.source(e)) && s.delay(e) == 1) {
+                    sum += s.weight(e);
+                    s.bumpUsage(e);
+                    s.setLastUsed(e, tick);
+                }
+            }
+            inputs[t] = sum;
+        }
+    }
+
+    private int decide(int p, int lo, int hi) {
+        Rng rnd = rngs[p];
+        rnd.fillGaussian(gauss, lo, hi);
+        rnd.fillUniform(uniform, lo, hi);
+        return cells.decide(kernels, inputs, gauss, noiseStd, uniform, spontaneous, lo, hi);
+    }
+
+    private void commit(int lo, int hi) {
+        if (lo >= hi) return; // empty trailing partition: its last word belongs to a neighbour
+        frontier.clearRange(lo, hi);
+        for (int i = lo; i < hi; i++) {
+            if (!cells.isAlive(i)) continue;
+            boolean fired = cells.isNextFired(i);
+            cells.setFired(i, fired);
+            if (fired) {
+                cells.setLastFiredTick(i, tick);
+                frontier.set(i);
+            }
+            cells.setActivation(i, fired ? 1.0 : Math.max(0.0, cells.activation(i)*0.90));
+        }
+    }
+
+    private int hebbian(int lo, int hi) {
+        SynapseStore s = synapses;
+        int up = 0;
+        for (int e = lo; e < hi; e++) {
+            int t = s.target(e);
+            boolean co = t >= 0 && cells.isFired(s.source(e)) && cells.isFired(t);
+            coActive[e] = co;
+            if (co) up++;
+        }
+        s.hebbian(kernels, coActive, eta, decay, wMin, wMax, lo, hi);
+        return up;
+    }
+
+    /**
+     * Counting sort of edge slots by target, walking sources in row order so
+     * each target's list matches the sequential push order. Only redone after
+     * slots were added or moved; tombstones are skipped in {@link #pull}.
+     */
+    private void ensureIndex() {
+        int n = cells.size();
+        if (indexVersion == synapses.version() && indexRows == n) return;
+        SynapseStore s = synapses;
+        if (inOffsets.length < n + 1) inOffsets = new int[n + 1];
+        if (inEdges.length < s.size()) inEdges = new int[s.size()];
+
+        Arrays.fill(inOffsets, 0, n + 1, 0);
+        for (int e = 0, m = s.size(); e < m; e++) {
+            if (s.target(e) >= 0) inOffsets[s.target(e) + 1]++;
+        }
+        for (int t = 0; t < n; t++) inOffsets[t + 1] += inOffsets[t];
+        int[] fill = Arrays.copyOf(inOffsets, n);
+        for (int i = 0; i < n; i++) {
+            for (int e = s.rowStart(i), end = s.rowEnd(i); e < end; e++) {
+                if (s.target(e) >= 0) inEdges[fill[s.target(e)]++] = e;
+            }
+            for (int e = s.tailHead(i); e >= 0; e = s.tailNext(e)) {
+                if (s.target(e) >= 0) inEdges[fill[s.target(e)]++] = e;
+            }
+        }
+
+        indexVersion = s.version();
+        indexRows = n;
+    }
+
+    @SuppressWarnings("serial") // never serialized
+    private final class Slice extends RecursiveAction {
+        private final int phase, lo, hi;
+
+        Slice(int phase, int lo, int hi) {
+            this.phase = phase;
+            this.lo = lo;
+            this.hi = hi;
+        }
+
+        @Override
+        protected void compute() {
+            if (hi - lo == 1) {
+                runPartition(phase, lo);
+                return;
+            }
+            int mid = (lo + hi) >>> 1;
+            invokeAll(new Slice(phase, lo, mid), new Slice(phase, mid, hi));
+        }
+    }
+}
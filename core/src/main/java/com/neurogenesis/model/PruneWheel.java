@@ -0,0 +1,134 @@
+package com.neurogenesis.model;
+
+import java.util.Arrays;
+
+/**
+ * Hierarchical timing wheel of synapse slots keyed on the tick at which
+ * each might next become prunable, so phase (E) only looks at slots that
+ * are due instead of scanning every synapse.
+ *
+ * Level 0 has one bucket per tick for the next 256 ticks and level 1 one
+ * bucket per 256-tick block after that. Entering a new block moves that
+ * block's level-1 bucket down to level 0. Due ticks beyond the horizon
+ * (about 65000 ticks) are filed at the horizon instead; the owner simply
+ * re-evaluates and reschedules a slot that expires early. Scheduling is
+ * O(1); expiring a tick costs its bucket plus the amortized cascade.
+ *
+ * A slot has at most one live entry: {@code due[e]} holds its current due
+ * tick, and entries that were rescheduled since are skipped when their
+ * bucket expires. Slot numbers change on compaction, so the owner clears
+ * and refills the wheel then. {@code due} lives in the synapse store's
+ * {@link Columns}, so it goes off-heap with the synapses.
+ */
+final class PruneWheel {
+    static final int NEVER = Integer.MIN_VALUE;
+    private static final int BITS = 8, SIZE = 1 << BITS, MASK = SIZE - 1;
+    private static final int HORIZON = SIZE * SIZE - SIZE;
+
+    private final Bucket[] level0 = new Bucket[SIZE], level1 = new Bucket[SIZE];
+    private final Bucket expired = new Bucket();
+    private Columns columns = Columns.HEAP;
+    private Columns.Ints due = columns.ints(0);
+    private int time;                      // last expired tick
+
+    PruneWheel() {
+        for (int i = 0; i < SIZE; i++) {
+            level0[i] = new Bucket();
+            level1[i] = new Bucket();
+        }
+    }
+
+    /** Empties the wheel for slots {@code [0, slots)}; the next tick to expire is {@code time + 1}. */
+    void clear(int time, int slots, Columns columns) {
+        for (int i = 0; i < SIZE; i++) {
+            level0[i].n = 0;
+            level1[i].n = 0;
+        }
+        if (columns != this.columns) {
+            due.free();
+            this.columns = columns;
+            due = columns.ints(slots);
+        } else if (due.capacity() < slots) {
+            due = due.grow(Math.max(slots, due.capacity() * 2));
+        }
+        due.fill(0, slots, NEVER);
+        this.time = time;
+    }
+
+    int time() { return time; }
+
+    /** (Re)schedules slot {@code e} for tick {@code tick}; overdue ticks go to the next one, NEVER unschedules. */
+    void schedule(int e, int tick) {
+        if (e >= due.capacity()) {
+            int old = due.capacity();
+            due = due.grow(Math.max(e + 1, old * 2));
+            due.fill(old, due.capacity(), NEVER);
+        }
+        if (tick == NEVER) {
+            due.set(e, NEVER);
+            return;
+        }
+        if (tick <= time) tick = time + 1;
+        else if (tick - time > HORIZON) tick = time + HORIZON;
+        due.set(e, tick);
+        file(e, tick);
+    }
+
+    // level 0 holds ticks (time, time + 256], level 1 the blocks after that
+    private void file(int e, int tick) {
+        if (tick - time <= SIZE) level0[tick & MASK].add(e, tick);
+        else level1[(tick >>> BITS) & MASK].add(e, tick);
+    }
+
+    /**
+     * Advances to {@code tick} (which must be {@code time() + 1}) and returns
+     * the slots due then, ascending; they are unscheduled. The returned
+     * bucket is reused by the next call.
+     */
+    Bucket expire(int tick) {
+        if (tick != time + 1) throw new IllegalArgumentException("wheel is at " + time + ", asked for " + tick);
+        if ((tick & MASK) == 0) refile(level1[(tick >>> BITS) & MASK]);
+        time = tick;
+        Bucket b = level0[tick & MASK];
+        expired.n = 0;
+        for (int k = 0; k < b.n; k++) {
+            int e = b.slot[k];
+            if (due.get(e) == b.tick[k] && b.tick[k] == tick) {
+                expired.add(e, tick);
+                due.set(e, NEVER);
+            }
+        }
+        b.n = 0;
+        Arrays.sort(expired.slot, 0, expired.n);
+        return expired;
+    }
+
+    /** Moves the live entries of the block being entered down to level 0. */
+    private void refile(Bucket b) {
+        int n = b.n;
+        b.n = 0;
+        for (int k = 0; k < n; k++) {
+            int e = b.slot[k];
+            if (due.get(e) == b.tick[k]) file(e, b.tick[k]);
+        }
+    }
+
+    /** Growable list of (slot, due tick) entries. */
+    static final class Bucket {
+        int[] slot = new int[8], tick = new int[8];
+        int n;
+
+        void add(int e, int t) {
+            if (n == slot.length) {
+                slot = Arrays.copyOf(slot, n * 2);
+                tick = Arrays.copyOf(tick, n * 2);
+            }
+            slot[n] = e;
+            tick[n] = t;
+            n++;
+        }
+
+        int size() { return n; }
+        int slot(int k) { return slot[k]; }
+    }
+}
@@ -0,0 +1,155 @@
+package com.neurogenesis.model;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.random.RandomGenerator;
+
+/**
+ * Fast seedable generator for the simulation: xoshiro256++ (Blackman and
+ * Vigna), seeded through SplitMix64, with Gaussians from a 256-layer
+ * Ziggurat (Marsaglia and Tsang). Not thread-safe and not synchronized:
+ * give each thread its own stream with {@link #split()}.
+ *
+ * A run seeds one root {@code Rng} and splits everything else off it, so
+ * one seed reproduces the whole run. The 32-byte state is saved in
+ * checkpoints.
+ */
+public final class Rng implements RandomGenerator {
+    static final int STATE_BYTES = 32;
+
+    private static final AtomicLong UNIQUE = new AtomicLong();
+
+    private long s0, s1, s2, s3;
+
+    /** Seeded from the clock; for runs that need not be reproducible. */
+    public Rng() { this(System.nanoTime() ^ UNIQUE.addAndGet(0x9E3779B97F4A7C15L)); }
+
+    public Rng(long seed) {
+        long x = seed;
+        s0 = mix(x += 0x9E3779B97F4A7C15L);
+        s1 = mix(x += 0x9E3779B97F4A7C15L);
+        s2 = mix(x += 0x9E3779B97F4A7C15L);
+        s3 = mix(x + 0x9E3779B97F4A7C15L);
+    }
+
+    private Rng(long s0, long s1, long s2, long s3) {
+        this.s0 = s0; this.s1 = s1; this.s2 = s2; this.s3 = s3;
+    }
+
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    @Override
+    public long nextLong() {
+        long r = Long.rotateLeft(s0 + s3, 23) + s0;
+        long t = s1 << 17;
+        s2 ^= s0;
+        s3 ^= s1;
+        s1 ^= s2;
+        s0 ^= s3;
+        s2 ^= t;
+        s3 = Long.rotateLeft(s3, 45);
+        return r;
+    }
+
+    @Override
+    public double nextDouble() { return (nextLong() >>> 11) * 0x1.0p-53; }
+
+    /**
+     * A new generator that continues from this one's current state, while
+     * this one jumps 2^128 draws ahead; the two streams never overlap in
+     * practice.
+     */
+    public Rng split() {
+        Rng child = new Rng(s0, s1, s2, s3);
+        jump();
+        return child;
+    }
+
+    private static final long[] JUMP = {
+            0x180EC6D33CFD0ABAL, 0xD5A61266F0C9392CL, 0xA9582618E03FC9AAL, 0x39ABDC4529B1661CL };
+
+    private void jump() {
+        long a = 0, b = 0, c = 0, d = 0;
+        for (long j : JUMP) {
+            for (int bit = 0; bit < 64; bit++) {
+                if ((j & (1L << bit)) != 0) { a ^= s0; b ^= s1; c ^= s2; d ^= s3; }
+                nextLong();
+            }
+        }
+        s0 = a; s1 = b; s2 = c; s3 = d;
+    }
+
+    // --- Gaussian: 256-layer Ziggurat over the 56 high bits (sign + magnitude), low 8 bits pick the layer
+    private static final int LAYERS = 256;
+    private static final double R = 3.6541528853610088, V = 0.00492867323399, M = 0x1.0p55;
+    private static final long[] KN = new long[LAYERS];
+    private static final double[] WN = new double[LAYERS], FN = new double[LAYERS];
+
+    static {
+        double dn = R, tn = dn, q = V / Math.exp(-0.5 * dn * dn);
+        KN[0] = (long) ((dn / q) * M);
+        KN[1] = 0;
+        WN[0] = q / M;
+        WN[LAYERS - 1] = dn / M;
+        FN[0] = 1.0;
+        FN[LAYERS - 1] = Math.exp(-0.5 * dn * dn);
+        for (int i = LAYERS - 2; i >= 1; i--) {
+            dn = Math.sqrt(-2.0 * Math.log(V / dn + Math.exp(-0.5 * dn * dn)));
+            KN[i + 1] = (long) ((dn / tn) * M);
+            tn = dn;
+            FN[i] = Math.exp(-0.5 * dn * dn);
+            WN[i] = dn / M;
+        }
+    }
+
+    @Override
+    public double nextGaussian() {
+        long u = nextLong();
+        int iz = (int) u & (LAYERS - 1);
+        long hz = u >> 8;
+        if (Math.abs(hz) < KN[iz]) return hz * WN[iz]; // inside the layer's rectangle: ~99% of draws
+        return gaussianEdge(hz, iz);
+    }
+
+    private double gaussianEdge(long hz, int iz) {
+        while (true) {
+            double x = hz * WN[iz];
+            if (iz == 0) {
+                // base layer: sample the tail beyond R
+                double y;
+                do {
+                    x = -Math.log(1.0 - nextDouble()) / R;
+                    y = -Math.log(1.0 - nextDouble());
+                } while (y + y < x * x);
+                return hz > 0 ? R + x : -R - x;
+            }
+            if (FN[iz] + nextDouble() * (FN[iz - 1] - FN[iz]) < Math.exp(-0.5 * x * x)) return x;
+            long u = nextLong();
+            iz = (int) u & (LAYERS - 1);
+            hz = u >> 8;
+            if (Math.abs(hz) < KN[iz]) return hz * WN[iz];
+        }
+    }
+
+    // --- bulk noise for a tick's worth of slots
+    public void fillUniform(double[] a, int from, int to) {
+        for (int i = from; i < to; i++) a[i] = nextDouble();
+    }
+
+    public void fillGaussian(double[] a, int from, int to) {
+        for (int i = from; i < to; i++) a[i] = nextGaussian();
+    }
+
+    // --- checkpoint state
+    void save(ByteBuffer buf) { buf.putLong(s0).putLong(s1).putLong(s2).putLong(s3); }
+
+    static Rng load(ByteBuffer buf) {
+        Rng r = new Rng(buf.getLong(), buf.getLong(), buf.getLong(), buf.getLong());
+        if ((r.s0 | r.s1 | r.s2 | r.s3) == 0) throw new IllegalArgumentException("all-zero RNG state");
+        return r;
+    }
+}
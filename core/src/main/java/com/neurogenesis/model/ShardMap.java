@@ -0,0 +1,54 @@
+package com.neurogenesis.model;
+
+/**
+ * Which shard owns which neuron in a partitioned run (see
+ * {@link NeuralNetwork#setShard}). Ownership goes by blocks of
+ * {@link #BLOCK} consecutive ids: the blocks of the network the run started
+ * from are cut into one contiguous range per shard, and blocks added later
+ * by growth are dealt out round-robin, so every shard can tell the owner of
+ * any id without asking.
+ */
+public final class ShardMap {
+    public static final int BLOCK = 64;
+    private static final int SHIFT = 6;
+
+    private final int index, count, baseNeurons, baseBlocks;
+
+    /** Shard {@code index} of {@code count}, over a starting network of {@code baseNeurons}. */
+    public ShardMap(int index, int count, int baseNeurons) {
+        if (count < 1 || index < 0 || index >= count) throw new IllegalArgumentException("shard " + index + " of " + count);
+        if (baseNeurons < 0) throw new IllegalArgumentException("baseNeurons < 0");
+        this.index = index;
+        this.count = count;
+        this.baseNeurons = baseNeurons;
+        this.baseBlocks = (baseNeurons + BLOCK - 1) >>> SHIFT;
+    }
+
+    public int index() { return index; }
+    public int count() { return count; }
+    public int baseNeurons() { return baseNeurons; }
+
+    public int owner(int neuron) { return ownerOfBlock(neuron >>> SHIFT); }
+    public boolean owns(int neuron) { return ownerOfBlock(neuron >>> SHIFT) == index; }
+
+    private int ownerOfBlock(int b) {
+        return b < baseBlocks ? (int) ((long) b * count / baseBlocks) : b % count;
+    }
+
+    /** First id in {@code [from, size)} this shard owns, or {@code size}. */
+    public int nextOwned(int from, int size) {
+        for (int b = from >>> SHIFT; (long) b << SHIFT < size; b++) {
+            if (ownerOfBlock(b) == index) return Math.max(from, b << SHIFT);
+        }
+        return size;
+    }
+
+    /** End (exclusive, at most {@code size}) of the run of owned ids that {@code start} is in. */
+    public int runEnd(int start, int size) {
+        int b = start >>> SHIFT;
+        while ((long) (b + 1) << SHIFT < size && ownerOfBlock(b + 1) == index) b++;
+        return (int) Math.min(size, (long) (b + 1) << SHIFT);
+    }
+
+    @Override public String toString() { return "shard " + index + "/" + count; }
+}
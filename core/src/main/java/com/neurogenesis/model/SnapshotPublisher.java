@@ -0,0 +1,62 @@
+package com.neurogenesis.model;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Lock-free hand-off of {@link NetworkSnapshot}s from the simulation thread
+ * to readers.
+ *
+ * The writer fills a free buffer (or a new one if every buffer is still
+ * held by a reader) and swaps it in with one atomic set; it never waits.
+ * Readers pin the latest buffer with a reference count, so a buffer is only
+ * reused after the last reader released it. In steady state this cycles
+ * through two or three buffers without allocating.
+ */
+public final class SnapshotPublisher {
+    private final AtomicReference<NetworkSnapshot> latest = new AtomicReference<>();
+    private final ConcurrentLinkedQueue<NetworkSnapshot> free = new ConcurrentLinkedQueue<>();
+
+    /** Buffer for the writer to fill; it holds the publisher's reference. */
+    NetworkSnapshot beginWrite() {
+        NetworkSnapshot s = free.poll();
+        if (s == null) s = new NetworkSnapshot(this);
+        s.resetRefs();
+        return s;
+    }
+
+    void publish(NetworkSnapshot s) {
+        NetworkSnapshot old = latest.getAndSet(s);
+        if (old != null) old.release();
+    }
+
+    void recycle(NetworkSnapshot s) { free.offer(s); }
+
+    /**
+     * True while the latest snapshot has not been acquired by any reader yet;
+     * a producer can skip publishing then instead of copying for nobody.
+     */
+    public boolean hasUnread() {
+        NetworkSnapshot s = latest.get();
+        return s != null && !s.seen;
+    }
+
+    /**
+     * Latest complete snapshot, pinned until {@link NetworkSnapshot#release()};
+     * null if nothing was published yet.
+     */
+    public NetworkSnapshot acquire() {
+        while (true) {
+            NetworkSnapshot s = latest.get();
+            if (s == null) return null;
+            if (s.tryRetain()) {
+                // a recycled buffer may have been re-taken by the writer between get() and retain
+                if (latest.get() == s) {
+                    s.seen = true;
+                    return s;
+                }
+                s.release();
+            }
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.neurogenesis.model;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * The neurons one shard fired in one tick, as sent between shards: a list
+ * of ids and its wire form, whichever of two encodings is shorter -
+ * ascending ids as varint gaps (sparse firing), or a bitset over the 64-id
+ * words from the lowest to the highest id (dense firing). The id array is
+ * reused, so encoding and decoding allocate nothing once it has grown.
+ */
+public final class SpikeBatch {
+    private static final byte GAPS = 0, BITSET = 1;
+
+    private int[] ids = new int[256];
+    private int size;
+
+    public void clear() { size = 0; }
+    public int size() { return size; }
+    public int get(int k) { return ids[k]; }
+
+    public void add(int id) {
+        if (size == ids.length) ids = Arrays.copyOf(ids, size * 2);
+        ids[size++] = id;
+    }
+
+    // --- wire form; write() expects the ids ascending and distinct
+    public int encodedBytes() { return Math.min(gapBytes(), bitsetBytes()); }
+
+    private int gapBytes() {
+        int bytes = 1 + varintBytes(size);
+        for (int k = 0, prev = -1; k < size; prev = ids[k++]) bytes += varintBytes(ids[k] - prev - 1);
+        return bytes;
+    }
+
+    private int bitsetBytes() {
+        if (size == 0) return Integer.MAX_VALUE;
+        int first = ids[0] >>> 6, words = (ids[size - 1] >>> 6) - first + 1;
+        return 1 + varintBytes(first) + varintBytes(words) + 8 * words;
+    }
+
+    public void write(ByteBuffer out) {
+        if (bitsetBytes() < gapBytes()) {
+            int first = ids[0] >>> 6, words = (ids[size - 1] >>> 6) - first + 1;
+            out.put(BITSET);
+            putVarint(out, first);
+            putVarint(out, words);
+            for (int k = 0, w = first; w < first + words; w++) {
+                long bits = 0;
+                for (; k < size && ids[k] >>> 6 == w; k++) bits |= 1L << (ids[k] & 63);
+                out.putLong(bits);
+            }
+        } else {
+            out.put(GAPS);
+            putVarint(out, size);
+            for (int k = 0, prev = -1; k < size; prev = ids[k++]) putVarint(out, ids[k] - prev - 1);
+        }
+    }
+
+    /** Appends the ids of one encoded batch read from {@code in}. */
+    public void read(ByteBuffer in) {
+        byte kind = in.get();
+        if (kind == GAPS) {
+            for (int k = 0, n = getVarint(in), id = -1; k < n; k++) add(id += getVarint(in) + 1);
+        } else if (kind == BITSET) {
+            int first = getVarint(in), words = getVarint(in);
+            for (int w = first; w < first + words; w++) {
+                for (long bits = in.getLong(); bits != 0; bits &= bits - 1) add((w << 6) + Long.numberOfTrailingZeros(bits));
+            }
+        } else {
+            throw new IllegalArgumentException("unknown spike batch encoding " + kind);
+        }
+    }
+
+    // --- unsigned LEB128
+    static int varintBytes(int v) { return v == 0 ? 1 : (38 - Integer.numberOfLeadingZeros(v)) / 7; }
+
+    static void putVarint(ByteBuffer out, int v) {
+        while ((v & ~0x7F) != 0) {
+            out.put((byte) ((v & 0x7F) | 0x80));
+            v >>>= 7;
+        }
+        out.put((byte) v);
+    }
+
+    static int getVarint(ByteBuffer in) {
+        int v = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            byte b = in.get();
+            v |= (b & 0x7F) << shift;
+            if (b >= 0) return v;
+        }
+        throw new IllegalArgumentException("malformed varint");
+    }
+}
@@ -0,0 +1,45 @@
+package com.neurogenesis.model;
+
+import java.util.Arrays;
+
+/**
+ * Fixed-word bitset of neurons that fired in the last commit. Unlike
+ * {@link java.util.BitSet} it has no hidden bookkeeping, so partitions that
+ * own disjoint 64-neuron words may write it concurrently.
+ */
+final class SpikeFrontier {
+    private long[] words = new long[1];
+
+    void ensureCapacity(int bits) {
+        int need = (bits + 63) >>> 6;
+        if (need > words.length) words = Arrays.copyOf(words, Math.max(need, words.length * 2));
+    }
+
+    void set(int i) { words[i >>> 6] |= 1L << i; }
+    void clear(int i) { words[i >>> 6] &= ~(1L << i); }
+    boolean get(int i) { return (words[i >>> 6] & (1L << i)) != 0; }
+
+    void clearAll() { Arrays.fill(words, 0L); }
+
+    /** Clears the words covering neurons [from, to); both must be multiples of 64 or to == end. */
+    void clearRange(int from, int to) {
+        Arrays.fill(words, from >>> 6, Math.min(words.length, (to + 63) >>> 6), 0L);
+    }
+
+    int nextSetBit(int from) {
+        int w = from >>> 6;
+        if (w >= words.length) return -1;
+        long word = words[w] & (-1L << from);
+        while (true) {
+            if (word != 0) return (w << 6) + Long.numberOfTrailingZeros(word);
+            if (++w == words.length) return -1;
+            word = words[w];
+        }
+    }
+
+    int cardinality() {
+        int c = 0;
+        for (long w : words) c += Long.bitCount(w);
+        return c;
+    }
+}
@@ -0,0 +1,117 @@
+package com.neurogenesis.model;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Calendar queue of spikes in flight along delayed synapses: a ring of
+ * one-tick buckets, each a pair of growable arrays (target neuron, amount)
+ * filled in arrival order. The ring has a power-of-two size covering the
+ * longest delay seen so far (up to {@link #MAX_DELAY}). Scheduling is an append
+ * and a tick drains only its own bucket in one sequential pass, so delivery
+ * costs O(spikes arriving) whatever the delays. Buckets keep their arrays
+ * between laps, so nothing is allocated per spike once they have grown.
+ *
+ * A spike carries its synapse's weight at the time it was sent and lands on
+ * the target neuron, so compaction (which moves synapse slots) and pruning
+ * the synapse meanwhile do not affect spikes already on the way.
+ */
+final class SpikeQueue {
+    /** Longest supported delay in ticks. */
+    static final int MAX_DELAY = 1 << 12;
+
+    private int[][] target = new int[16][];
+    private double[][] amount = new double[16][];
+    private int[] count = new int[16];
+    private int mask = 15;
+    private int pending = 0;
+
+    /**
+     * Queues {@code a} for neuron {@code t}'s input at tick {@code tick + delay - 1};
+     * {@code tick} is the one being propagated (its bucket may not be drained yet).
+     */
+    void schedule(int tick, int delay, int t, double a) {
+        if (delay > mask + 1) widen(tick, delay);
+        int b = (tick + delay - 1) & mask, n = count[b];
+        int[] to = target[b];
+        if (to == null || n == to.length) {
+            int cap = to == null ? 16 : n * 2;
+            target[b] = to = to == null ? new int[cap] : Arrays.copyOf(to, cap);
+            amount[b] = amount[b] == null ? new double[cap] : Arrays.copyOf(amount[b], cap);
+        }
+        to[n] = t;
+        amount[b][n] = a;
+        count[b] = n + 1;
+        pending++;
+    }
+
+    /** Grows the ring to cover {@code delay}; buckets keep their due ticks from {@code tick} on. */
+    private void widen(int tick, int delay) {
+        int ring = Integer.highestOneBit(delay - 1) << 1;
+        int[][] to = new int[ring][];
+        double[][] a = new double[ring][];
+        int[] c = new int[ring];
+        for (int k = 0; k <= mask; k++) {
+            int from = (tick + k) & mask, due = tick + k;
+            to[due & (ring - 1)] = target[from];
+            a[due & (ring - 1)] = amount[from];
+            c[due & (ring - 1)] = count[from];
+        }
+        target = to;
+        amount = a;
+        count = c;
+        mask = ring - 1;
+    }
+
+    /** Adds everything due at {@code tick} into {@code inputs}, in the order it was queued; returns how many arrived. */
+    int drain(int tick, double[] inputs) {
+        int b = tick & mask, n = count[b];
+        if (n == 0) return 0;
+        int[] to = target[b];
+        double[] a = amount[b];
+        for (int k = 0; k < n; k++) inputs[to[k]] += a[k];
+        count[b] = 0;
+        pending -= n;
+        return n;
+    }
+
+    /** Spikes in flight. */
+    int pending() { return pending; }
+
+    // --- checkpoint section (see Checkpoint): due ticks, targets, amounts, in delivery order
+    static long savedBytes(int spikes) { return Checkpoint.align((long) spikes * (4 + 4 + 8)); }
+
+    /** Writes the spikes in flight after tick {@code tick}, bucket by bucket from {@code tick + 1}. */
+    void save(ByteBuffer buf, int tick) {
+        for (int col = 0; col < 3; col++) {
+            for (int k = 1; k <= mask + 1; k++) {
+                int due = tick + k, b = due & mask;
+                for (int j = 0; j < count[b]; j++) {
+                    switch (col) {
+                        case 0 -> buf.putInt(due);
+                        case 1 -> buf.putInt(target[b][j]);
+                        default -> buf.putDouble(amount[b][j]);
+                    }
+                }
+            }
+        }
+        Checkpoint.pad(buf);
+    }
+
+    /** Reads {@code n} spikes written by {@link #save} after {@code tick} into this (empty) queue. */
+    void load(ByteBuffer buf, int n, int tick, int neurons) {
+        if (pending != 0) throw new IllegalStateException("load into a non-empty spike queue");
+        int[] due = new int[n], to = new int[n];
+        double[] a = new double[n];
+        Checkpoint.getInts(buf, due, n);
+        Checkpoint.getInts(buf, to, n);
+        Checkpoint.getDoubles(buf, a, n);
+        Checkpoint.skipPad(buf);
+        for (int k = 0; k < n; k++) {
+            if (due[k] <= tick || due[k] - tick >= MAX_DELAY || to[k] < 0 || to[k] >= neurons) {
+                throw new IllegalArgumentException("corrupt spike section at spike " + k);
+            }
+            schedule(tick + 1, due[k] - tick, to[k], a[k]); // the next tick to run drains first
+        }
+    }
+}
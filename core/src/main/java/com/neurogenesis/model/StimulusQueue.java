@@ -0,0 +1,128 @@
+package com.neurogenesis.model;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free multi-producer, single-consumer ring of external events for a
+ * network: timestamped spikes and input currents, and structural commands.
+ * Any number of threads (file replayers, generators, sockets) push without
+ * taking the network's lock; the tick drains what was published before it
+ * started, at the tick boundary (see {@link NeuralNetwork#stimuli}). So
+ * ingest never waits for a tick and a tick never waits for a producer.
+ *
+ * A bounded ring of preallocated slots (Vyukov's scheme): a producer claims
+ * a slot by CAS on the tail, fills its fields and publishes it by writing
+ * the slot's sequence number; the consumer reads slots in order until it
+ * meets one not yet published. Pushing allocates nothing, and a full ring
+ * makes the push return false instead of blocking; the producer decides
+ * whether to retry or drop.
+ *
+ * Neurons are addressed by dense id ({@link Neuron#getIndex}). Events for
+ * ids that are dead or out of range when drained are dropped and counted.
+ */
+public final class StimulusQueue {
+    /** What an event does when the tick drains it. */
+    public enum Kind { SPIKE, CURRENT, CONNECT, DISCONNECT, ADD_NEURON, REMOVE_NEURON, SET_ROLE }
+
+    private static final Kind[] KINDS = Kind.values();
+    private static final Neuron.Role[] ROLES = Neuron.Role.values();
+
+    /** Receives drained events, in push order per producer. */
+    interface Sink {
+        void accept(Kind kind, int tick, int a, int b, double value);
+    }
+
+    private final int mask;
+    private final AtomicLongArray seq;                  // slot k: k + lap * size when free, +1 once published
+    private final byte[] kind;
+    private final int[] tick, a, b;
+    private final double[] value;
+    private final AtomicLong tail = new AtomicLong();   // next slot to claim
+    private volatile long head = 0;                     // next slot to drain (written by the consumer only)
+    private final AtomicLong rejected = new AtomicLong(), dropped = new AtomicLong(), drained = new AtomicLong();
+
+    /** A ring of {@code capacity} events, rounded up to a power of two. */
+    public StimulusQueue(int capacity) {
+        if (capacity < 2 || capacity > 1 << 30) throw new IllegalArgumentException("capacity must be 2..2^30: " + capacity);
+        int n = Integer.highestOneBit(capacity - 1) << 1;
+        mask = n - 1;
+        seq = new AtomicLongArray(n);
+        for (int k = 0; k < n; k++) seq.set(k, k);
+        kind = new byte[n];
+        tick = new int[n];
+        a = new int[n];
+        b = new int[n];
+        value = new double[n];
+    }
+
+    public int capacity() { return mask + 1; }
+
+    // --- producers (any thread)
+    /** Makes {@code neuron} fire at tick {@code at} (the next tick if that has passed): an unbounded input, past any threshold below 1. */
+    public boolean spike(int neuron, int at) { return offer(Kind.SPIKE, at, neuron, 0, 0); }
+
+    /** Adds {@code amount} to {@code neuron}'s input at tick {@code at} (the next tick if that has passed). */
+    public boolean current(int neuron, double amount, int at) { return offer(Kind.CURRENT, at, neuron, 0, amount); }
+
+    public boolean connect(int from, int to, double weight) { return offer(Kind.CONNECT, 0, from, to, weight); }
+    public boolean disconnect(int from, int to) { return offer(Kind.DISCONNECT, 0, from, to, 0); }
+    public boolean addNeuron(Neuron.Role role) { return offer(Kind.ADD_NEURON, 0, 0, role.ordinal(), 0); }
+    public boolean removeNeuron(int neuron) { return offer(Kind.REMOVE_NEURON, 0, neuron, 0, 0); }
+    public boolean setRole(int neuron, Neuron.Role role) { return offer(Kind.SET_ROLE, 0, neuron, role.ordinal(), 0); }
+
+    /** Pushes one event; false if the ring is full. */
+    private boolean offer(Kind k, int at, int x, int y, double v) {
+        long t = tail.get();
+        while (true) {
+            int slot = (int) t & mask;
+            long d = seq.getAcquire(slot) - t;
+            if (d == 0) {
+                if (tail.compareAndSet(t, t + 1)) break;
+                t = tail.get();
+            } else if (d < 0) {
+                rejected.getAndIncrement(); // the consumer has not freed this slot from the last lap
+                return false;
+            } else {
+                t = tail.get(); // another producer claimed it first
+            }
+        }
+        int slot = (int) t & mask;
+        kind[slot] = (byte) k.ordinal();
+        tick[slot] = at;
+        a[slot] = x;
+        b[slot] = y;
+        value[slot] = v;
+        seq.setRelease(slot, t + 1);
+        return true;
+    }
+
+    // --- consumer (the tick)
+    /** Hands every event published before the call to {@code sink}; returns how many. */
+    int drain(Sink sink) {
+        long end = tail.get(), h = head;
+        for (; h < end; h++) {
+            int slot = (int) h & mask;
+            if (seq.getAcquire(slot) != h + 1) break; // claimed but not yet published: next tick
+            sink.accept(KINDS[kind[slot]], tick[slot], a[slot], b[slot], value[slot]);
+            seq.setRelease(slot, h + mask + 1);
+        }
+        int n = (int) (h - head);
+        head = h;
+        drained.getAndAdd(n);
+        return n;
+    }
+
+    static Neuron.Role role(int ordinal) { return ordinal >= 0 && ordinal < ROLES.length ? ROLES[ordinal] : null; }
+
+    void drop() { dropped.getAndIncrement(); }
+
+    /** Events waiting (approximate while producers are active). */
+    public int size() { return (int) Math.max(0, tail.get() - head); }
+    /** Pushes refused because the ring was full. */
+    public long rejected() { return rejected.get(); }
+    /** Events drained by the tick, including dropped ones. */
+    public long drained() { return drained.get(); }
+    /** Drained events that could not be applied (dead or unknown neuron, spike too far ahead). */
+    public long dropped() { return dropped.get(); }
+}
@@ -0,0 +1,553 @@
+package com.neurogenesis.model;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Synapses as parallel primitive columns, grouped by source neuron.
+ *
+ * Slots {@code [0, baseSize)} are in compressed-sparse-row order: the
+ * compacted outgoing edges of neuron {@code i} are {@code rowStart(i) ..
+ * rowEnd(i)-1}. Edges added since the last compaction are appended after
+ * that and chained per source ({@code tailHead(i)}, {@code tailNext(e)}), so
+ * an insert is O(1). Removal marks the slot as a tombstone ({@code target(e)
+ * < 0}) in O(1). Once tombstones plus appended edges pass a fraction of the
+ * live edges, {@link #compact()} rebuilds the CSR layout in one O(N + E)
+ * pass, which keeps structural churn amortized O(1) per change.
+ *
+ * Edges into a removed neuron are left in place ("orphaned") until the next
+ * compaction; they are harmless to the tick and hidden by {@link #isLive}.
+ *
+ * With lazy decay on, {@code weights[e]} is the weight as of tick
+ * {@code weightTick[e]}; idle synapses are left alone by the Hebbian pass
+ * and read their missed decay in closed form (see {@link #setLazyDecay}).
+ *
+ * Each synapse has a conduction delay in ticks, 1 (the next tick) unless
+ * set with {@link #setDelay}; the delay column only exists once some
+ * synapse got a longer one (see {@link SpikeQueue}).
+ *
+ * {@link Connection} objects are created lazily as views and follow their
+ * edge when it moves. An {@link EdgeSet} of (from,to) pairs rejects
+ * duplicate synapses in O(1), and in/out-degrees are kept for fan limits.
+ *
+ * The per-synapse columns and the pair index live in {@link Columns}: heap
+ * arrays by default, or memory-mapped off-heap segments after
+ * {@link #moveTo(Columns)}, for stores larger than the heap or RAM. Only
+ * per-neuron arrays stay on the heap then.
+ */
+public final class SynapseStore {
+    /** Compact once tombstones + orphans + appended edges exceed this share of live edges. */
+    private static final double COMPACT_RATIO = 0.25;
+    private static final int COMPACT_MIN = 64;
+
+    private final NeuronStore neurons;
+
+    private int rows = 0;                 // one row per neuron slot
+    private int[] offsets = new int[1];   // rows+1 entries over the compacted part
+    private int[] tailHead = new int[0], tailLast = new int[0];
+    private Columns.Ints tailNext;
+    private int baseSize = 0;             // slots in CSR order
+    private int size = 0;                 // all slots, incl. tail and tombstones
+    private int dead = 0;                 // tombstoned slots
+    private int orphaned = 0;             // live slots whose target neuron was removed
+    private int version = 0;              // bumped whenever slots are added or moved
+    private int layout = 0;               // bumped only when slots are moved (compact, load)
+
+    private Columns columns = Columns.HEAP;
+    private Columns.Ints sources, targets, usage, lastUsed, weightTick;
+    private Columns.Doubles weights;
+    private Columns.Ints delays;          // null = every delay is 1
+
+    // lazy decay: per-tick step w -> clamp(w * keep), applied on read for the ticks since weightTick
+    private boolean lazy = false;
+    private int now = 0;                  // last tick whose Hebbian pass the weights reflect
+    private double keep = 1.0, wMin, wMax;
+    // views handed out so far: slot-indexed on the heap, a map when off-heap (few edges ever get one)
+    private Connection[] views;
+    private Map<Integer, Connection> viewMap;
+
+    // slots added or re-weighted since the prune wheel last looked (see NeuralNetwork.prune)
+    private boolean trackTouches = false;
+    private int[] touched = new int[64];
+    private int touchedCount = 0;
+
+    private EdgeSet index;
+    private int[] inDegree = new int[0], outDegree = new int[0];
+
+    public SynapseStore(NeuronStore neurons, int capacity) {
+        this.neurons = neurons;
+        int cap = Math.max(capacity, 8);
+        sources = columns.ints(cap);
+        targets = columns.ints(cap);
+        usage = columns.ints(cap);
+        lastUsed = columns.ints(cap);
+        weights = columns.doubles(cap);
+        weightTick = columns.ints(cap);
+        tailNext = columns.ints(cap);
+        views = new Connection[cap];
+        index = new EdgeSet(columns, cap);
+    }
+
+    /**
+     * Moves every column and the pair index to {@code to} (e.g. a
+     * {@link MappedColumns}), compacting on the way; the old storage is
+     * released. Slots may move, as with {@link #compact()}.
+     */
+    void moveTo(Columns to) {
+        Columns from = columns;
+        if (to == from) return;
+        // compact() re-keys the views in map form; back to an array afterwards if on the heap
+        Map<Integer, Connection> vm = new HashMap<>();
+        if (views != null) {
+            for (int e = 0; e < size; e++) if (views[e] != null) vm.put(e, views[e]);
+        } else {
+            vm.putAll(viewMap);
+        }
+        views = null;
+        viewMap = vm;
+        columns = to;
+        compact();
+        if (to == Columns.HEAP) {
+            views = new Connection[targets.capacity()];
+            viewMap.forEach((e, v) -> views[e] = v);
+            viewMap = null;
+        }
+        EdgeSet old = index;
+        index = new EdgeSet(to, size);
+        for (int e = 0; e < size; e++) index.add(EdgeSet.key(sources.get(e), targets.get(e)));
+        old.free();
+        from.close();
+    }
+
+    Columns columns() { return columns; }
+
+    private Connection viewAt(int e) { return views != null ? views[e] : viewMap.get(e); }
+
+    /** Make sure there is a (possibly empty) row for every neuron slot below n. */
+    void ensureRows(int n) {
+        if (n <= rows) return;
+        if (offsets.length < n + 1) {
+            int cap = Math.max(n + 1, offsets.length * 2);
+            offsets = Arrays.copyOf(offsets, cap);
+            tailHead = Arrays.copyOf(tailHead, cap);
+            tailLast = Arrays.copyOf(tailLast, cap);
+            inDegree = Arrays.copyOf(inDegree, cap);
+            outDegree = Arrays.copyOf(outDegree, cap);
+        }
+        for (int r = rows; r < n; r++) {
+            offsets[r + 1] = baseSize;
+            tailHead[r] = -1;
+            tailLast[r] = -1;
+        }
+        rows = n;
+    }
+
+    /**
+     * Appends an edge to its source's chain and returns its slot, or -1 if
+     * the same (from,to) synapse already exists.
+     */
+    int add(int from, int to, double w) {
+        if (!index.add(EdgeSet.key(from, to))) return -1;
+        ensureRows(Math.max(from, to) + 1);
+        if (size == targets.capacity()) grow(size * 2);
+
+        int e = size++;
+        sources.set(e, from);
+        targets.set(e, to);
+        weights.set(e, w);
+        weightTick.set(e, now);
+        usage.set(e, 0);
+        lastUsed.set(e, -9999);
+        if (delays != null) delays.set(e, 1);
+        if (views != null) views[e] = null;
+        tailNext.set(e, -1);
+        if (tailLast[from] < 0) tailHead[from] = e; else tailNext.set(tailLast[from], e);
+        tailLast[from] = e;
+
+        inDegree[to]++;
+        outDegree[from]++;
+        version++;
+        touch(e);
+        return e;
+    }
+
+    /**
+     * Bulk insert for building large networks: appends all edges and
+     * compacts once, O(N + E) overall. Self-loops and duplicates are
+     * dropped; returns how many were added.
+     */
+    int addAll(int[] from, int[] to, double[] w, int count) {
+        int accepted = 0;
+        for (int k = 0; k < count; k++) {
+            if (from[k] != to[k] && add(from[k], to[k], w[k]) >= 0) accepted++;
+        }
+        compact();
+        return accepted;
+    }
+
+    /** Tombstones one edge in O(1). Returns false if it was already removed. */
+    boolean remove(int e) {
+        int t = targets.get(e);
+        if (t < 0) return false;
+        Connection v = viewAt(e);
+        if (v != null) {
+            v.detach();
+            if (views != null) views[e] = null; else viewMap.remove(e);
+        }
+        int s = sources.get(e);
+        index.remove(EdgeSet.key(s, t));
+        inDegree[t]--;
+        outDegree[s]--;
+        if (!neurons.isAlive(t)) orphaned--;
+        targets.set(e, -1);
+        dead++;
+        return true;
+    }
+
+    /**
+     * Drops everything attached to a removed neuron: its outgoing edges are
+     * tombstoned now, its incoming ones are orphaned until the next compaction.
+     */
+    void removeNeuron(int i) {
+        if (i >= rows) return;
+        for (int e = offsets[i], end = offsets[i + 1]; e < end; e++) remove(e);
+        for (int e = tailHead[i]; e >= 0; e = tailNext.get(e)) remove(e);
+        orphaned += inDegree[i];
+    }
+
+    boolean needsCompaction() {
+        int garbage = dead + orphaned + (size - baseSize);
+        return garbage > COMPACT_MIN && garbage > COMPACT_RATIO * count();
+    }
+
+    /**
+     * Rebuilds the CSR layout from live edges (compacted rows first, then
+     * each row's appended chain, so row order is preserved) and drops
+     * tombstones and orphans.
+     */
+    void compact() {
+        int live = count();
+        int cap = Math.max(8, Math.max(live, Math.min(targets.capacity(), live * 2)));
+        Columns.Ints src = columns.ints(cap), dst = columns.ints(cap), use = columns.ints(cap),
+                last = columns.ints(cap), wtick = columns.ints(cap);
+        Columns.Doubles wt = columns.doubles(cap);
+        Columns.Ints dly = delays != null ? columns.ints(cap) : null;
+        Connection[] vw = views != null ? new Connection[cap] : null;
+        Map<Integer, Connection> vm = views == null && !viewMap.isEmpty() ? new HashMap<>() : viewMap;
+        int[] next = new int[offsets.length];
+
+        int p = 0;
+        for (int r = 0; r < rows; r++) {
+            next[r] = p;
+            for (int e = offsets[r], end = offsets[r + 1]; e < end; e++) p = keep(e, p, src, dst, wt, wtick, use, last, dly, vw, vm);
+            for (int e = tailHead[r]; e >= 0; e = tailNext.get(e)) p = keep(e, p, src, dst, wt, wtick, use, last, dly, vw, vm);
+            tailHead[r] = -1;
+            tailLast[r] = -1;
+        }
+        next[rows] = p;
+
+        for (Columns.Ints c : new Columns.Ints[] {sources, targets, weightTick, usage, lastUsed, tailNext}) c.free();
+        weights.free();
+        if (delays != null) delays.free();
+        sources = src; targets = dst; weights = wt; weightTick = wtick; usage = use; lastUsed = last; delays = dly;
+        if (vw != null) views = vw; else viewMap = vm;
+        tailNext = columns.ints(cap);
+        offsets = next;
+        baseSize = size = p;
+        dead = orphaned = 0;
+        version++;
+        layout++;
+        touchedCount = 0;
+    }
+
+    private int keep(int e, int p, Columns.Ints src, Columns.Ints dst, Columns.Doubles wt, Columns.Ints wtick,
+                     Columns.Ints use, Columns.Ints last, Columns.Ints dly, Connection[] vw, Map<Integer, Connection> vm) {
+        int t = targets.get(e);
+        if (t < 0) return p;
+        Connection v = vw != null ? views[e] : vm == viewMap ? null : viewMap.get(e);
+        int s = sources.get(e);
+        if (!neurons.isAlive(t)) {
+            // orphan: target neuron was removed
+            if (v != null) v.detach();
+            index.remove(EdgeSet.key(s, t));
+            inDegree[t]--;
+            outDegree[s]--;
+            return p;
+        }
+        src.set(p, s); dst.set(p, t); wt.set(p, weights.get(e)); wtick.set(p, weightTick.get(e));
+        use.set(p, usage.get(e)); last.set(p, lastUsed.get(e));
+        if (dly != null) dly.set(p, delays.get(e));
+        if (v != null) {
+            v.moveTo(p);
+            if (vw != null) vw[p] = v; else vm.put(p, v);
+        }
+        return p + 1;
+    }
+
+    private void grow(int cap) {
+        sources = sources.grow(cap);
+        targets = targets.grow(cap);
+        weights = weights.grow(cap);
+        weightTick = weightTick.grow(cap);
+        usage = usage.grow(cap);
+        lastUsed = lastUsed.grow(cap);
+        tailNext = tailNext.grow(cap);
+        if (delays != null) delays = delays.grow(cap);
+        if (views != null) views = Arrays.copyOf(views, cap);
+    }
+
+    // --- checkpoint section (see Checkpoint): live edges in row order as six columns
+    static long savedBytes(int edges) { return Checkpoint.align((long) edges * (5*4 + 8)); }
+
+    /** Writes the live edges (what {@link #count()} counts) in compacted order. */
+    void save(ByteBuffer buf) {
+        // one pass per column, straight into the buffer, so saving needs no copy of the store;
+        // live edges that are contiguous in the compacted rows (and not split by a tail) go in one bulk copy
+        for (int col = 0; col < 6; col++) {
+            int run = -1;
+            for (int r = 0; r < rows; r++) {
+                for (int e = offsets[r], end = offsets[r + 1]; e < end; e++) {
+                    if (!isLive(e)) {
+                        if (run >= 0) putLive(buf, col, run, e - run);
+                        run = -1;
+                    } else if (run < 0) {
+                        run = e;
+                    }
+                }
+                if (tailHead[r] < 0) continue;
+                if (run >= 0) putLive(buf, col, run, offsets[r + 1] - run);
+                run = -1;
+                for (int e = tailHead[r]; e >= 0; e = tailNext.get(e)) if (isLive(e)) putLive(buf, col, e, 1);
+            }
+            if (run >= 0) putLive(buf, col, run, offsets[rows] - run);
+        }
+        Checkpoint.pad(buf);
+    }
+
+    private void putLive(ByteBuffer buf, int col, int e, int n) {
+        switch (col) {
+            case 0 -> sources.write(buf, e, n);
+            case 1 -> targets.write(buf, e, n);
+            case 2 -> {
+                if (!lazy) weights.write(buf, e, n);
+                else for (int i = e; i < e + n; i++) buf.putDouble(weight(i));
+            }
+            case 3 -> usage.write(buf, e, n);
+            case 4 -> lastUsed.write(buf, e, n);
+            default -> {
+                if (delays != null) delays.write(buf, e, n);
+                else for (int i = 0; i < n; i++) buf.putInt(1);
+            }
+        }
+    }
+
+    /**
+     * Replaces the whole store with {@code m} edges read from {@code buf},
+     * already in row order, and rebuilds rows, degrees and the pair index.
+     * Version 2 checkpoints have no delay column.
+     */
+    void load(ByteBuffer buf, int m, boolean withDelays) {
+        if (size != 0) throw new IllegalStateException("load into a non-empty store");
+        grow(Math.max(m, 8));
+        sources.read(buf, m);
+        targets.read(buf, m);
+        weights.read(buf, m);
+        usage.read(buf, m);
+        lastUsed.read(buf, m);
+        if (withDelays) {
+            delays = columns.ints(targets.capacity());
+            delays.read(buf, m);
+            boolean any = false;
+            for (int e = 0; e < m; e++) {
+                int d = delays.get(e);
+                if (d < 1 || d > SpikeQueue.MAX_DELAY) throw new IllegalArgumentException("bad delay at edge " + e);
+                any |= d > 1;
+            }
+            if (!any) {
+                delays.free();
+                delays = null;
+            }
+        }
+        Checkpoint.skipPad(buf);
+
+        ensureRows(neurons.size());
+        index.ensureCapacity(m);
+        int prev = 0;
+        for (int e = 0; e < m; e++) {
+            int s = sources.get(e), t = targets.get(e);
+            if (s < prev || s >= rows || t < 0 || t >= rows || !index.add(EdgeSet.key(s, t))) {
+                throw new IllegalArgumentException("corrupt synapse section at edge " + e);
+            }
+            prev = s;
+            outDegree[s]++;
+            inDegree[t]++;
+        }
+        // offsets from the (sorted) sources
+        for (int r = 0, e = 0; r <= rows; r++) {
+            while (e < m && sources.get(e) < r) e++;
+            offsets[r] = e;
+        }
+        baseSize = size = m;
+        version++;
+        layout++;
+        touchedCount = 0;
+    }
+
+    /**
+     * Lazy decay: the Hebbian pass only writes co-active synapses
+     * ({@link #strengthen}); every other weight is read as the closed form of
+     * the decay steps it missed, {@code clamp(w * (1 - decay)^dt)}, in O(1)
+     * however long it sat idle. The eager pass rounds once per tick instead,
+     * so the two agree to within rounding ({@link #LAZY_TOLERANCE}) rather than
+     * bit for bit; firing and pruning only differ if a value lands that close
+     * to a threshold.
+     *
+     * Switching, or changing the parameters, first brings every weight up to date.
+     */
+    void setLazyDecay(boolean on, double decay, double wMin, double wMax) {
+        if (lazy) {
+            for (int e = 0; e < size; e++) weights.set(e, weight(e));
+        }
+        this.keep = 1.0 - decay;
+        this.wMin = wMin;
+        this.wMax = wMax;
+        if (on) weightTick.fill(0, size, now);
+        lazy = on;
+    }
+
+    /** Relative difference allowed between lazy and eager weights of the same run. */
+    static final double LAZY_TOLERANCE = 1e-12;
+
+    boolean isLazyDecay() { return lazy; }
+
+    /** End of tick {@code t}'s Hebbian pass: weights not written since now owe one more decay step. */
+    void advance(int t) { now = t; }
+
+    /** Lazy (D) for one co-active synapse at tick {@code t}: {@code w + eta*(1-w)}, clamped. */
+    void strengthen(int e, int t, double eta) {
+        double w = weight(e);
+        w = w + eta * (1.0 - w);
+        weights.set(e, Math.max(wMin, Math.min(wMax, w)));
+        weightTick.set(e, t);
+    }
+
+    /** (D) over slots {@code [from, to)}, see {@link Kernels#hebbian}; tombstones are updated too but never read. */
+    void hebbian(Kernels k, boolean[] coActive, double eta, double decay, double wMin, double wMax, int from, int to) {
+        double[] w = weights.array();
+        if (w != null) {
+            k.hebbian(w, coActive, eta, decay, wMin, wMax, from, to);
+            return;
+        }
+        // off-heap: the same arithmetic one slot at a time
+        double keep = 1.0 - decay;
+        for (int e = from; e < to; e++) {
+            double v = weights.get(e);
+            v = coActive[e] ? v + eta * (1.0 - v) : v * keep;
+            weights.set(e, Math.max(wMin, Math.min(wMax, v)));
+        }
+    }
+
+    /** Slots in use, including tombstones; iterate {@code 0..size()-1} and skip {@code target(e) < 0}. */
+    public int size() { return size; }
+    /** Live synapses. */
+    public int count() { return size - dead - orphaned; }
+    /** Changes whenever slots are appended or moved (not on tombstoning). */
+    public int version() { return version; }
+    /** Changes whenever slot numbers are reassigned, i.e. on compaction and load. */
+    int layout() { return layout; }
+
+    // --- touched slots: edits the prune schedule must re-evaluate; cleared by compaction
+    void trackTouches(boolean on) {
+        trackTouches = on;
+        touchedCount = 0;
+    }
+
+    void touch(int e) {
+        if (!trackTouches) return;
+        if (touchedCount == touched.length) touched = Arrays.copyOf(touched, touchedCount * 2);
+        touched[touchedCount++] = e;
+    }
+
+    int touchedCount() { return touchedCount; }
+    int touched(int k) { return touched[k]; }
+    void clearTouched() { touchedCount = 0; }
+
+    public boolean isLive(int e) {
+        int t = targets.get(e);
+        return t >= 0 && neurons.isAlive(t);
+    }
+
+    public int outDegree(int neuron) { return neuron < rows ? outDegree[neuron] : 0; }
+    public int inDegree(int neuron) { return neuron < rows ? inDegree[neuron] : 0; }
+    public boolean contains(int from, int to) { return index.contains(EdgeSet.key(from, to)); }
+
+    /** Slot of the from→to synapse, or -1. O(1) miss, O(out-degree) hit. */
+    public int find(int from, int to) {
+        if (!contains(from, to)) return -1;
+        for (int e = rowStart(from), end = rowEnd(from); e < end; e++) {
+            if (targets.get(e) == to) return e;
+        }
+        for (int e = tailHead(from); e >= 0; e = tailNext.get(e)) {
+            if (targets.get(e) == to) return e;
+        }
+        return -1;
+    }
+
+    // row = compacted range rowStart..rowEnd, then the appended chain tailHead -> tailNext
+    public int rowStart(int neuron) { return neuron < rows ? offsets[neuron] : baseSize; }
+    public int rowEnd(int neuron) { return neuron < rows ? offsets[neuron + 1] : baseSize; }
+    public int tailHead(int neuron) { return neuron < rows ? tailHead[neuron] : -1; }
+    public int tailNext(int e) { return tailNext.get(e); }
+
+    public int source(int e) { return sources.get(e); }
+    /** Target neuron, or -1 for a tombstone. */
+    public int target(int e) { return targets.get(e); }
+    /** Current weight; in lazy mode the closed form of the decay it missed (see {@link #setLazyDecay}). Pure read. */
+    public double weight(int e) {
+        if (!lazy) return weights.get(e);
+        int at = weightTick.get(e);
+        return at != now ? Math.max(wMin, Math.min(wMax, weights.get(e) * Math.pow(keep, now - at))) : weights.get(e);
+    }
+    public void setWeight(int e, double w) {
+        weights.set(e, w);
+        weightTick.set(e, now);
+        touch(e);
+    }
+    /** Ticks until a spike sent along {@code e} arrives; 1 = the next tick. */
+    public int delay(int e) { return delays != null ? delays.get(e) : 1; }
+
+    /**
+     * Sets the delay of {@code e}, 1 to {@link SpikeQueue#MAX_DELAY} ticks; spikes already sent keep theirs.
+     * Structural, so outside the package it goes through {@link NeuralNetwork#setDelay} (lock, journal).
+     */
+    void setDelay(int e, int d) {
+        if (d < 1 || d > SpikeQueue.MAX_DELAY) {
+            throw new IllegalArgumentException("delay must be 1.." + SpikeQueue.MAX_DELAY + ": " + d);
+        }
+        if (delays == null) {
+            if (d == 1) return;
+            delays = columns.ints(targets.capacity());
+            delays.fill(0, size, 1);
+        }
+        delays.set(e, d);
+    }
+
+    /** Whether any synapse has had a delay other than 1. */
+    public boolean hasDelays() { return delays != null; }
+
+    public int usage(int e) { return usage.get(e); }
+    public void bumpUsage(int e) { usage.set(e, usage.get(e) + 1); }
+    public int lastUsed(int e) { return lastUsed.get(e); }
+    public void setLastUsed(int e, int t) { lastUsed.set(e, t); }
+
+    public Connection view(int e) {
+        Connection v = viewAt(e);
+        if (v == null) {
+            v = new Connection(this, e, neurons.view(sources.get(e)), neurons.view(targets.get(e)));
+            if (views != null) views[e] = v; else viewMap.put(e, v);
+        }
+        return v;
+    }
+}
@@ -0,0 +1,137 @@
+package com.neurogenesis.model;
+
+import java.lang.invoke.VarHandle;
+
+/**
+ * Bounded ring of structured tick events: one per tick with its
+ * {@link TickStats}, plus growth, prune and doors-decision events. Events are
+ * primitive columns and interned strings (neuron ids, labels), so writing
+ * one allocates nothing and nothing is formatted until a reader asks.
+ *
+ * Writers hold the network lock, so there is one writer at a time and it
+ * never waits: when the ring is full the oldest events are overwritten.
+ * Each {@link Reader} has its own cursor, drains in batches without
+ * locking, and counts what it missed.
+ */
+public final class TickEvents {
+    public enum Kind { TICK, NEURON_ADDED, SYNAPSE_ADDED, PRUNED, DECISION }
+    private static final Kind[] KINDS = Kind.values();
+
+    private final int mask;
+    private final byte[] kind;
+    private final int[] tick, a, b, c, d;
+    private final String[] s1, s2;
+    private volatile long head = 0;          // sequence of the next event; events [head - capacity, head) exist
+
+    /** {@code capacity} is rounded up to a power of two. */
+    public TickEvents(int capacity) {
+        int cap = Integer.highestOneBit(Math.max(capacity, 16) - 1) << 1;
+        mask = cap - 1;
+        kind = new byte[cap];
+        tick = new int[cap]; a = new int[cap]; b = new int[cap]; c = new int[cap]; d = new int[cap];
+        s1 = new String[cap]; s2 = new String[cap];
+    }
+
+    public int capacity() { return mask + 1; }
+
+    // --- writing (under the network lock)
+    private void put(Kind k, int t, int va, int vb, int vc, int vd, String x, String y) {
+        long seq = head;
+        int i = (int) seq & mask;
+        kind[i] = (byte) k.ordinal();
+        tick[i] = t; a[i] = va; b[i] = vb; c[i] = vc; d[i] = vd;
+        s1[i] = x; s2[i] = y;
+        head = seq + 1; // volatile store publishes the slot
+    }
+
+    void tick(TickStats s) {
+        put(Kind.TICK, s.tick(), s.fired(), s.strengthened(), s.decayed(), s.pruned(), null, null);
+    }
+
+    void neuronAdded(int t, Neuron n) {
+        put(Kind.NEURON_ADDED, t, n.getIndex(), 0, 0, 0, n.getId(), null);
+    }
+
+    void synapseAdded(int t, Neuron from, Neuron to) {
+        put(Kind.SYNAPSE_ADDED, t, from.getIndex(), to.getIndex(), 0, 0, from.getId(), to.getId());
+    }
+
+    void pruned(int t, Neuron from, Neuron to) {
+        put(Kind.PRUNED, t, from.getIndex(), to.getIndex(), 0, 0, from.getId(), to.getId());
+    }
+
+    void decision(int t, Neuron chosen, boolean curious, boolean success, String best) {
+        put(Kind.DECISION, t, chosen != null ? chosen.getIndex() : -1, curious ? 1 : 0, success ? 1 : 0, 0,
+                chosen != null ? chosen.getLabel() : null, best);
+    }
+
+    /** A reader that sees events written from now on. */
+    public Reader newReader(int batch) { return new Reader(batch, head); }
+
+    /**
+     * Cursor plus a reusable batch buffer. {@link #poll()} copies the next
+     * events into the buffer; the accessors read them by batch position.
+     */
+    public final class Reader {
+        private final byte[] rKind;
+        private final int[] rTick, ra, rb, rc, rd;
+        private final String[] r1, r2;
+        private long next;
+        private int off, count;
+        private long dropped;
+
+        private Reader(int batch, long start) {
+            int n = Math.max(batch, 1);
+            rKind = new byte[n];
+            rTick = new int[n]; ra = new int[n]; rb = new int[n]; rc = new int[n]; rd = new int[n];
+            r1 = new String[n]; r2 = new String[n];
+            next = start;
+        }
+
+        /** Copies up to one batch of new events; returns how many are available via the accessors. */
+        public int poll() {
+            long h = head;
+            long from = Math.max(next, h - capacity());
+            int n = (int) Math.min(h - from, rKind.length);
+            for (int k = 0; k < n; k++) {
+                int i = (int) (from + k) & mask;
+                rKind[k] = kind[i];
+                rTick[k] = tick[i]; ra[k] = a[i]; rb[k] = b[i]; rc[k] = c[i]; rd[k] = d[i];
+                r1[k] = s1[i]; r2[k] = s2[i];
+            }
+            // the writer may have lapped us while copying: drop what it could have overwritten
+            VarHandle.acquireFence();
+            long valid = head - capacity() + 1;
+            int skip = (int) Math.max(0, Math.min(n, valid - from));
+            dropped += from - next + skip;
+            off = skip;
+            count = n - skip;
+            next = from + n;
+            return count;
+        }
+
+        /** Events overwritten before this reader got to them, so far. */
+        public long dropped() { return dropped; }
+
+        public Kind kind(int k) { return KINDS[rKind[off + k]]; }
+        public int tick(int k) { return rTick[off + k]; }
+
+        /** Appends the event as one log line. */
+        public void format(int k, StringBuilder sb) {
+            int i = off + k;
+            switch (KINDS[rKind[i]]) {
+                case TICK -> sb.append("[*] t=").append(rTick[i]).append(" fired=").append(ra[i])
+                        .append(" strengthened=").append(rb[i]).append(" decayed=").append(rc[i])
+                        .append(" pruned=").append(rd[i]).append('\n');
+                case NEURON_ADDED -> sb.append("[+] ").append(r1[i]).append(" added\n");
+                case SYNAPSE_ADDED -> sb.append("[+] synapse ").append(r1[i]).append("→").append(r2[i]).append('\n');
+                case PRUNED -> sb.append("[-] synapse ").append(r1[i]).append("→").append(r2[i]).append(" pruned\n");
+                case DECISION -> {
+                    if (ra[i] < 0) { sb.append("[!] No OUTPUT neurons\n"); return; }
+                    sb.append(rb[i] != 0 ? "[C]" : "[L]").append(" Chose ").append(r1[i])
+                      .append(" | best=").append(r2[i]).append(" | success=").append(rc[i] != 0).append('\n');
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,200 @@
+package com.neurogenesis.model;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Consumer;
+
+/**
+ * Per-phase latency histograms and tick counters for a network, for finding
+ * where tick time goes and whether a network still fits a real-time tick
+ * period. Attach with {@link NeuralNetwork#setMetrics}; while none is
+ * attached the tick only pays a null check per phase.
+ *
+ * Phases (A)-(F) and the whole tick are timed inside
+ * {@link NeuralNetwork#tickNeuronOnly()}; callers time their own steps
+ * (doors decision, UI redraw) with {@link #lap}. Everything is readable over
+ * JMX ({@link #register}) and as a text table ({@link #dump}, or
+ * periodically with {@link #startDump}).
+ */
+public final class TickMetrics implements TickMetricsMXBean {
+    public enum Phase {
+        INGEST("ingest"), PROPAGATE("A propagate"), DECIDE("B decide"), COMMIT("C commit"), HEBBIAN("D hebbian"),
+        PRUNE("E prune"), GROW("F grow"), COMPACT("compact"), TICK("tick"),
+        CHOOSE("choose"), EVALUATE("evaluate"), FEEDBACK("feedback"), REDRAW("redraw");
+
+        final String label;
+        Phase(String label) { this.label = label; }
+    }
+
+    private enum Counter { FIRED, STRENGTHENED, DECAYED, PRUNED, NEURONS_ADDED, SYNAPSES_ADDED }
+
+    // HotSpot's per-thread allocation counter, if this JVM has one
+    private static final com.sun.management.ThreadMXBean THREADS = allocationCounter();
+
+    private final LogHistogram[] phases = new LogHistogram[Phase.values().length];
+    private final LogHistogram allocated = new LogHistogram();
+    private final AtomicLongArray counters = new AtomicLongArray(Counter.values().length);
+    private final AtomicLong overBudget = new AtomicLong();
+    private volatile long budgetNanos = 0;
+
+    private ObjectName registeredAs;
+    private ScheduledExecutorService dumper;
+
+    public TickMetrics() {
+        for (int i = 0; i < phases.length; i++) phases[i] = new LogHistogram();
+    }
+
+    private static com.sun.management.ThreadMXBean allocationCounter() {
+        try {
+            if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean t
+                    && t.isThreadAllocatedMemorySupported()) {
+                t.setThreadAllocatedMemoryEnabled(true);
+                return t;
+            }
+        } catch (LinkageError | UnsupportedOperationException ignored) {
+            // not HotSpot: no allocation numbers
+        }
+        return null;
+    }
+
+    // --- recording
+    public static long now() { return System.nanoTime(); }
+
+    /** Records {@code p} as running from {@code t0} until now; returns now, the start of the next lap. */
+    public long lap(Phase p, long t0) {
+        long t = System.nanoTime();
+        phases[p.ordinal()].record(t - t0);
+        return t;
+    }
+
+    /** Bytes allocated so far by the calling thread, or -1. */
+    static long allocatedBytes() {
+        return THREADS != null ? THREADS.getCurrentThreadAllocatedBytes() : -1;
+    }
+
+    /** End of a tick that started at {@code t0} with {@code alloc0} bytes allocated. */
+    void tickDone(TickStats s, long t0, long alloc0) {
+        long dt = System.nanoTime() - t0;
+        phases[Phase.TICK.ordinal()].record(dt);
+        long budget = budgetNanos;
+        if (budget > 0 && dt > budget) overBudget.getAndIncrement();
+        if (alloc0 >= 0) allocated.record(allocatedBytes() - alloc0);
+        counters.getAndAdd(Counter.FIRED.ordinal(), s.fired());
+        counters.getAndAdd(Counter.STRENGTHENED.ordinal(), s.strengthened());
+        counters.getAndAdd(Counter.DECAYED.ordinal(), s.decayed());
+        counters.getAndAdd(Counter.PRUNED.ordinal(), s.pruned());
+        counters.getAndAdd(Counter.NEURONS_ADDED.ordinal(), s.neuronsAdded());
+        counters.getAndAdd(Counter.SYNAPSES_ADDED.ordinal(), s.synapsesAdded());
+    }
+
+    public LogHistogram histogram(Phase p) { return phases[p.ordinal()]; }
+
+    // --- MXBean
+    private LogHistogram tick() { return phases[Phase.TICK.ordinal()]; }
+
+    @Override public long getTicks() { return tick().count(); }
+    @Override public double getTickMeanMicros() { return tick().mean() / 1e3; }
+    @Override public double getTickP50Micros() { return tick().percentile(0.50) / 1e3; }
+    @Override public double getTickP99Micros() { return tick().percentile(0.99) / 1e3; }
+    @Override public double getTickP999Micros() { return tick().percentile(0.999) / 1e3; }
+    @Override public double getTickMaxMicros() { return tick().max() / 1e3; }
+
+    @Override public long getTickBudgetMicros() { return budgetNanos / 1000; }
+    @Override public void setTickBudgetMicros(long micros) { budgetNanos = Math.max(0, micros) * 1000; }
+    @Override public long getTicksOverBudget() { return overBudget.get(); }
+
+    @Override public double getAllocatedBytesPerTickMean() { return THREADS != null ? allocated.mean() : -1; }
+    @Override public long getAllocatedBytesPerTickP99() { return THREADS != null ? allocated.percentile(0.99) : -1; }
+
+    @Override public long getFired() { return counters.get(Counter.FIRED.ordinal()); }
+    @Override public long getStrengthened() { return counters.get(Counter.STRENGTHENED.ordinal()); }
+    @Override public long getDecayed() { return counters.get(Counter.DECAYED.ordinal()); }
+    @Override public long getPruned() { return counters.get(Counter.PRUNED.ordinal()); }
+    @Override public long getNeuronsAdded() { return counters.get(Counter.NEURONS_ADDED.ordinal()); }
+    @Override public long getSynapsesAdded() { return counters.get(Counter.SYNAPSES_ADDED.ordinal()); }
+
+    @Override
+    public String[] getPhaseSummary() {
+        String[] lines = new String[phases.length];
+        for (Phase p : Phase.values()) lines[p.ordinal()] = summary(p);
+        return lines;
+    }
+
+    private String summary(Phase p) {
+        LogHistogram h = phases[p.ordinal()];
+        return String.format("%-12s %10d %10.1f %10.1f %10.1f %10.1f %10.1f", p.label, h.count(), h.mean() / 1e3,
+                h.percentile(0.50) / 1e3, h.percentile(0.99) / 1e3, h.percentile(0.999) / 1e3, h.max() / 1e3);
+    }
+
+    /** Text table of every phase that ran, plus the counters. */
+    @Override
+    public String dump() {
+        StringBuilder sb = new StringBuilder(1024);
+        sb.append(String.format("tick metrics: %d ticks", getTicks()));
+        if (budgetNanos > 0) sb.append(String.format(", %d over the %d us budget", getTicksOverBudget(), getTickBudgetMicros()));
+        if (THREADS != null) {
+            sb.append(String.format(", allocated/tick mean %.0f B p99 %d B", allocated.mean(), allocated.percentile(0.99)));
+        }
+        sb.append(String.format("%n%-12s %10s %10s %10s %10s %10s %10s%n", "phase (us)", "count", "mean", "p50", "p99", "p99.9", "max"));
+        for (Phase p : Phase.values()) {
+            if (phases[p.ordinal()].count() > 0) sb.append(summary(p)).append(System.lineSeparator());
+        }
+        sb.append(String.format("fired=%d strengthened=%d decayed=%d pruned=%d neuronsAdded=%d synapsesAdded=%d",
+                getFired(), getStrengthened(), getDecayed(), getPruned(), getNeuronsAdded(), getSynapsesAdded()));
+        return sb.toString();
+    }
+
+    @Override
+    public void reset() {
+        for (LogHistogram h : phases) h.reset();
+        allocated.reset();
+        for (int i = 0; i < counters.length(); i++) counters.set(i, 0);
+        overBudget.set(0);
+    }
+
+    // --- export
+    /** Registers with the platform MBean server as {@code com.neurogenesis:type=TickMetrics,name=<name>}. */
+    public synchronized ObjectName register(String name) throws JMException {
+        unregister();
+        ObjectName on = new ObjectName("com.neurogenesis:type=TickMetrics,name=" + ObjectName.quote(name));
+        ManagementFactory.getPlatformMBeanServer().registerMBean(this, on);
+        registeredAs = on;
+        return on;
+    }
+
+    public synchronized void unregister() {
+        if (registeredAs == null) return;
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            if (server.isRegistered(registeredAs)) server.unregisterMBean(registeredAs);
+        } catch (JMException ignored) {
+            // already gone
+        }
+        registeredAs = null;
+    }
+
+    /** Hands {@link #dump()} to {@code out} every {@code periodMs} on a daemon thread. */
+    public synchronized void startDump(long periodMs, Consumer<String> out) {
+        stopDump();
+        dumper = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "tick-metrics-dump");
+            t.setDaemon(true);
+            return t;
+        });
+        dumper.scheduleAtFixedRate(() -> out.accept(dump()), periodMs, periodMs, TimeUnit.MILLISECONDS);
+    }
+
+    public synchronized void stopDump() {
+        if (dumper != null) {
+            dumper.shutdown();
+            dumper = null;
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.neurogenesis.model;
+
+/** JMX view of a {@link TickMetrics}; times in microseconds. */
+public interface TickMetricsMXBean {
+    long getTicks();
+    double getTickMeanMicros();
+    double getTickP50Micros();
+    double getTickP99Micros();
+    double getTickP999Micros();
+    double getTickMaxMicros();
+
+    /** Real-time budget per tick, 0 = none; ticks above it are counted. */
+    long getTickBudgetMicros();
+    void setTickBudgetMicros(long micros);
+    long getTicksOverBudget();
+
+    /** Bytes allocated by the ticking thread per tick; -1 when the JVM cannot tell. */
+    double getAllocatedBytesPerTickMean();
+    long getAllocatedBytesPerTickP99();
+
+    long getFired();
+    long getStrengthened();
+    long getDecayed();
+    long getPruned();
+    long getNeuronsAdded();
+    long getSynapsesAdded();
+
+    /** One line per timed phase: count, mean, p50, p99, p99.9, max. */
+    String[] getPhaseSummary();
+
+    String dump();
+    void reset();
+}
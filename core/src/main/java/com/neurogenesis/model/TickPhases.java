@@ -0,0 +1,50 @@
+package com.neurogenesis.model;
+
+/**
+ * Runs single phases of {@link NeuralNetwork#tickNeuronOnly()} in isolation,
+ * for benchmarks and profiling. Each call takes the network's monitor like
+ * the full tick does; only {@link #nextTick} advances the tick counter.
+ */
+public final class TickPhases {
+    private TickPhases() {}
+
+    /** (A) accumulate input along synapses leaving fired neurons. */
+    public static void propagate(NeuralNetwork net) {
+        synchronized (net) { net.propagate(); }
+    }
+
+    /** (B) stochastic firing decision; returns how many will fire. */
+    public static int decideFiring(NeuralNetwork net) {
+        synchronized (net) { return net.decideFiring(); }
+    }
+
+    /** (C) two-phase commit of the firing decision. */
+    public static void commitFiring(NeuralNetwork net) {
+        synchronized (net) { net.commitFiring(); }
+    }
+
+    /** (D) Hebbian strengthen / decay pass. */
+    public static void applyHebbian(NeuralNetwork net) {
+        synchronized (net) { net.applyHebbian(); }
+    }
+
+    /**
+     * Advances the tick counter by one without running any phase, so a phase
+     * repeated in a loop sees consecutive ticks as it does in the real tick.
+     * Pruning needs this: its timing wheel rebuilds in O(E) when asked about
+     * a tick that is not the one after its last.
+     */
+    public static void nextTick(NeuralNetwork net) {
+        synchronized (net) { net.nextTick(); }
+    }
+
+    /** (E) prune weak, unused synapses; returns how many went. */
+    public static int prune(NeuralNetwork net) {
+        synchronized (net) { return net.prune(); }
+    }
+
+    /** (F) growth; returns how many neurons plus synapses were added. */
+    public static int grow(NeuralNetwork net) {
+        synchronized (net) { return net.grow(); }
+    }
+}
@@ -0,0 +1,12 @@
+package com.neurogenesis.model;
+
+/** Counters of one {@link NeuralNetwork#tickNeuronOnly()} call. */
+public record TickStats(int tick, int fired, int strengthened, int decayed, int pruned,
+                        int neuronsAdded, int synapsesAdded) {
+
+    /** The classic one-line summary, e.g. for a console. */
+    @Override public String toString() {
+        return "[*] t=" + tick + " fired=" + fired + " strengthened=" + strengthened
+                + " decayed=" + decayed + " pruned=" + pruned;
+    }
+}
@@ -0,0 +1,76 @@
+package com.neurogenesis.model;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+import java.util.Arrays;
+
+/**
+ * {@link Kernels} on {@code jdk.incubator.vector} at the platform's preferred
+ * width; the remainder after the last full vector goes through the scalar
+ * loop. Loaded reflectively by {@link Kernels#vector()}, so nothing else
+ * refers to this class.
+ *
+ * The Hebbian pass is SIMD throughout. The firing decision computes its mask
+ * in SIMD, but on JDK 17 a mask cannot be stored to a boolean[] without
+ * allocating, so only the first and last firing lane are written from it and
+ * a vector with more than two firing lanes re-decides the span between them
+ * with the scalar loop. At 8 lanes that is 0.04% of vectors at a 2% firing
+ * rate and one in five at 20%, on top of their vector work; the speedup over
+ * the scalar kernel shrinks accordingly (see KernelBenchmark).
+ */
+final class VectorKernels extends Kernels {
+    private static final VectorSpecies<Double> S = DoubleVector.SPECIES_PREFERRED;
+
+    VectorKernels() {
+        if (S.length() < 2) throw new UnsupportedOperationException("no SIMD doubles on this platform");
+    }
+
+    @Override
+    public String name() { return "vector-" + S.vectorBitSize(); }
+
+    @Override
+    public int decide(boolean[] alive, double[] input, double[] bias, double[] gauss, double noiseStd,
+                      double[] logitThreshold, double[] uniform, double spontaneous,
+                      boolean[] fire, int from, int to) {
+        int fired = 0;
+        int i = from;
+        for (int end = from + S.loopBound(to - from); i < end; i += S.length()) {
+            DoubleVector x = DoubleVector.fromArray(S, input, i)
+                    .add(DoubleVector.fromArray(S, bias, i))
+                    .add(DoubleVector.fromArray(S, gauss, i).mul(noiseStd));
+            VectorMask<Double> f = x.compare(VectorOperators.GT, DoubleVector.fromArray(S, logitThreshold, i))
+                    .or(DoubleVector.fromArray(S, uniform, i).compare(VectorOperators.LT, spontaneous))
+                    .and(VectorMask.fromArray(S, alive, i));
+            // a mask's intoArray/toLong/laneIsSet allocate on JDK 17, so the lanes are written by hand:
+            // cleared, then the first and last firing one set, and any in between redone by the scalar loop
+            int count = f.trueCount();
+            Arrays.fill(fire, i, i + S.length(), false);
+            if (count > 0) {
+                int lo = i + f.firstTrue(), hi = i + f.lastTrue();
+                fire[lo] = fire[hi] = true;
+                if (count > 2) decideRange(alive, input, bias, gauss, noiseStd, logitThreshold, uniform, spontaneous, fire, lo + 1, hi);
+            }
+            fired += count;
+        }
+        return fired + decideRange(alive, input, bias, gauss, noiseStd, logitThreshold, uniform, spontaneous, fire, i, to);
+    }
+
+    @Override
+    public void hebbian(double[] w, boolean[] coActive, double eta, double decay,
+                        double wMin, double wMax, int from, int to) {
+        DoubleVector one = DoubleVector.broadcast(S, 1.0);
+        double keep = 1.0 - decay;
+        int e = from;
+        for (int end = from + S.loopBound(to - from); e < end; e += S.length()) {
+            DoubleVector v = DoubleVector.fromArray(S, w, e);
+            DoubleVector up = one.sub(v).mul(eta).add(v);
+            v.mul(keep).blend(up, VectorMask.fromArray(S, coActive, e))
+             .min(wMax).max(wMin)
+             .intoArray(w, e);
+        }
+        hebbianRange(w, coActive, eta, decay, wMin, wMax, e, to);
+    }
+}
@@ -0,0 +1,120 @@
+package com.neurogenesis.model;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/** Save, load, and the loaded network goes on exactly like the original. */
+class CheckpointTest {
+    private static final int HEADER = 64;
+
+    @TempDir
+    Path dir;
+
+    private static NeuralNetwork network(int maxDelay) {
+        NeuralNetwork net = new NetworkBuilder(5).neurons(3_000).fanOut(8).outputs(3).inputs(4)
+                .delays(1, maxDelay).firingRate(0.05).build();
+        for (int i = 0; i < 200; i++) net.tickNeuronOnly();
+        net.removeNeuron(net.getNeurons().get(17)); // a dead slot and orphaned synapses
+        net.tickNeuronOnly();
+        return net;
+    }
+
+    /** Ticks both {@code ticks} times, comparing every tick's stats, then the whole state. */
+    private static void assertRunsAlike(NeuralNetwork expected, NeuralNetwork actual, int ticks) {
+        assertEquals(expected.getTick(), actual.getTick());
+        for (int i = 0; i < ticks; i++) {
+            assertEquals(expected.tickNeuronOnly(), actual.tickNeuronOnly(), "tick " + expected.getTick());
+        }
+        NeuronStore a = expected.getNeuronStore(), b = actual.getNeuronStore();
+        assertEquals(a.size(), b.size(), "neuron slots");
+        for (int i = 0; i < a.size(); i++) {
+            assertEquals(a.isAlive(i), b.isAlive(i), "alive " + i);
+            assertEquals(a.isFired(i), b.isFired(i), "fired " + i);
+            assertEquals(a.activation(i), b.activation(i), "activation " + i);
+            assertEquals(a.lastFiredTick(i), b.lastFiredTick(i), "last fired " + i);
+            assertEquals(a.role(i), b.role(i), "role " + i);
+            assertEquals(a.label(i), b.label(i), "label " + i);
+        }
+        // the original still has its tombstones and row tails, so compare the saved forms
+        assertArrayEquals(synapseSection(expected), synapseSection(actual), "synapses after " + ticks + " ticks");
+    }
+
+    private static byte[] synapseSection(NeuralNetwork net) {
+        SynapseStore s = net.getSynapseStore();
+        ByteBuffer buf = ByteBuffer.allocate((int) SynapseStore.savedBytes(s.count())).order(ByteOrder.LITTLE_ENDIAN);
+        s.save(buf);
+        return buf.array();
+    }
+
+    @Test
+    void loadedNetworkTicksLikeTheOriginal() throws IOException {
+        NeuralNetwork net = network(6);
+        Path file = dir.resolve("net.ngcp");
+        Checkpoint.save(net, file);
+        NeuralNetwork back = Checkpoint.load(file);
+        assertEquals(net.spikeQueue().pending(), back.spikeQueue().pending(), "spikes in flight");
+        assertRunsAlike(net, back, 500);
+    }
+
+    @Test
+    void imageWritesTheSameFileAsSave() throws IOException {
+        NeuralNetwork net = network(6);
+        Checkpoint.save(net, dir.resolve("saved.ngcp"));
+        Checkpoint.write(Checkpoint.image(net, null), dir.resolve("image.ngcp"));
+        assertArrayEquals(Files.readAllBytes(dir.resolve("saved.ngcp")), Files.readAllBytes(dir.resolve("image.ngcp")));
+    }
+
+    /** A version 2 file (no delay column, no spike section) of a network without delays still loads. */
+    @Test
+    void loadsVersion2() throws IOException {
+        NeuralNetwork net = network(1);
+        Path v3 = dir.resolve("v3.ngcp"), v2 = dir.resolve("v2.ngcp");
+        Checkpoint.save(net, v3);
+        ByteBuffer in = ByteBuffer.wrap(Files.readAllBytes(v3)).order(ByteOrder.LITTLE_ENDIAN);
+        int edges = in.getInt(16);
+        int synapses = HEADER + Rng.STATE_BYTES + (int) net.getNeuronStore().savedBytes();
+        int fiveColumns = edges * (4 + 4 + 8 + 4 + 4);
+
+        ByteBuffer out = ByteBuffer.allocate((int) Checkpoint.align(synapses + fiveColumns)).order(ByteOrder.LITTLE_ENDIAN);
+        out.put(Arrays.copyOfRange(in.array(), 0, synapses + fiveColumns));
+        out.putInt(4, 2).putInt(24, 0); // version 2 had no in-flight count
+        Files.write(v2, out.array());
+
+        NeuralNetwork back = Checkpoint.load(v2);
+        assertRunsAlike(net, back, 300);
+    }
+
+    @Test
+    void rejectsTruncatedFiles() throws IOException {
+        Path file = dir.resolve("net.ngcp");
+        Checkpoint.save(network(6), file);
+        byte[] whole = Files.readAllBytes(file);
+
+        // crashed mid-save: the magic is written last, so a partial file has none
+        byte[] partial = Arrays.copyOf(whole, whole.length / 2);
+        Arrays.fill(partial, 0, 4, (byte) 0);
+        Files.write(dir.resolve("partial.ngcp"), partial);
+        IOException e = assertThrows(IOException.class, () -> Checkpoint.load(dir.resolve("partial.ngcp")));
+        assertTrue(e.getMessage().contains("not a checkpoint"), e.getMessage());
+
+        // cut short after it was complete: the sections run past the end
+        Files.write(dir.resolve("cut.ngcp"), Arrays.copyOf(whole, whole.length - 100));
+        assertThrows(IOException.class, () -> Checkpoint.load(dir.resolve("cut.ngcp")));
+
+        // shorter than a header
+        Files.write(dir.resolve("tiny.ngcp"), Arrays.copyOf(whole, 20));
+        assertThrows(IOException.class, () -> Checkpoint.load(dir.resolve("tiny.ngcp")));
+    }
+}
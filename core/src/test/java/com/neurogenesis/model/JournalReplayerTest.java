@@ -0,0 +1,122 @@
+package com.neurogenesis.model;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/** Replay rebuilds the structure the live network had at each tick, from a finished or a live journal. */
+class JournalReplayerTest {
+
+    @TempDir
+    Path dir;
+
+    private static NeuralNetwork network() {
+        NeuralNetwork net = new NetworkBuilder(21).neurons(1_500).fanOut(6).outputs(3).delays(1, 4)
+                .firingRate(0.05).build();
+        net.setGrowthPolicy(new GrowthPolicy().setTargetSize(1_800).setNeuronRate(0.2)
+                .setSynapseRate(5).setSynapsesPerNeuron(6));
+        net.setPruning(30, 0.2);
+        return net;
+    }
+
+    /** Runs to {@code ticks}, changing roles and delays and removing neurons by hand now and then, and keeps the structure every 10 ticks. */
+    private static Map<Integer, List<String>> run(NeuralNetwork net, int ticks) {
+        Map<Integer, List<String>> seen = new HashMap<>();
+        for (int i = 1; i <= ticks; i++) {
+            net.tickNeuronOnly();
+            if (i % 7 == 0) net.removeNeuron(net.getNeurons().get(i));
+            if (i % 11 == 0) net.getNeurons().get(2 * i).setRole(Neuron.Role.INPUT);
+            if (i % 13 == 0) {
+                SynapseStore s = net.getSynapseStore();
+                NeuronStore cells = net.getNeuronStore();
+                for (int e = i * 37 % s.size(); ; e = (e + 1) % s.size()) {
+                    if (!s.isLive(e)) continue;
+                    net.setDelay(cells.view(s.source(e)), cells.view(s.target(e)), 1 + i % 5);
+                    break;
+                }
+            }
+            if (i % 10 == 0) seen.put(net.getTick(), structure(net));
+        }
+        return seen;
+    }
+
+    /** Alive slots with their role, and live synapses with their delay. */
+    static List<String> structure(NeuralNetwork net) {
+        List<String> out = new ArrayList<>();
+        NeuronStore cells = net.getNeuronStore();
+        for (int i = 0; i < cells.size(); i++) {
+            if (cells.isAlive(i)) out.add("n" + i + " " + cells.role(i) + " " + cells.view(i).getId());
+        }
+        List<String> edges = new ArrayList<>();
+        SynapseStore s = net.getSynapseStore();
+        for (int e = 0; e < s.size(); e++) {
+            if (s.isLive(e)) edges.add(s.source(e) + ">" + s.target(e) + " d" + s.delay(e));
+        }
+        edges.sort(null);
+        out.addAll(edges);
+        return out;
+    }
+
+    @Test
+    void replaysEveryTickOfAFinishedJournal() throws IOException {
+        NeuralNetwork net = network();
+        Map<Integer, List<String>> seen;
+        try (Journal j = Journal.open(dir, net)) {
+            j.setCheckpointEvery(40);
+            seen = run(net, 150);
+        }
+        JournalReplayer replay = new JournalReplayer(dir);
+        assertArrayEquals(new int[] {0, 40, 80, 120}, replay.checkpointTicks());
+        for (int t = 10; t <= 150; t += 10) {
+            NeuralNetwork back = replay.at(t);
+            assertEquals(t, back.getTick());
+            assertEquals(seen.get(t), structure(back), "tick " + t);
+        }
+    }
+
+    /** The run is still going and has not flushed for a while: the checkpoints it has written must be usable. */
+    @Test
+    void replaysALiveJournal() throws IOException {
+        NeuralNetwork net = network();
+        try (Journal j = Journal.open(dir, net, 10_000, 1_000)) {
+            j.setCheckpointEvery(100);
+            Map<Integer, List<String>> seen = run(net, 150);
+            JournalReplayer replay = new JournalReplayer(dir);
+            assertEquals(50, replay.at(50).getTick());
+            assertEquals(120, replay.at(120).getTick());
+
+            // once the checkpoint at 100 and its marker are on disk, replay up to it is exact
+            long deadline = System.nanoTime() + 10_000_000_000L;
+            while (!seen.get(100).equals(structure(replay.at(100))) && System.nanoTime() < deadline) Thread.onSpinWait();
+            assertEquals(seen.get(100), structure(replay.at(100)));
+        }
+    }
+
+    @Test
+    void fallsBackToTheCheckpointBefore() throws IOException {
+        NeuralNetwork net = network();
+        Map<Integer, List<String>> seen;
+        try (Journal j = Journal.open(dir, net)) {
+            j.setCheckpointEvery(40);
+            seen = run(net, 150);
+        }
+        // as if the checkpoint at 120 had been cut short: Checkpoint writes its magic last
+        try (FileChannel ch = FileChannel.open(dir.resolve(JournalReplayer.checkpointName(120)), StandardOpenOption.WRITE)) {
+            ch.write(ByteBuffer.allocate(4), 0);
+        }
+        assertEquals(seen.get(150), structure(new JournalReplayer(dir).at(150)));
+    }
+
+}
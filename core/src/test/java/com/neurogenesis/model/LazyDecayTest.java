@@ -0,0 +1,48 @@
+package com.neurogenesis.model;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/** Lazy decay against the eager pass: same seeded run, same ticks, weights equal to within rounding. */
+class LazyDecayTest {
+
+    private static NeuralNetwork network(boolean lazy, double decay) {
+        NeuralNetwork net = new NetworkBuilder(17).neurons(2_000).fanOut(8).delays(1, 3).firingRate(0.03).build();
+        net.setGrowthPolicy(new GrowthPolicy().setTargetSize(2_600).setNeuronRate(0.3)
+                .setSynapseRate(20).setSynapsesPerNeuron(10));
+        net.setLearning(2 * decay, decay); // strengthening on par with decay keeps the firing sparse
+        net.setPruning(40, 0.2);
+        net.setLazyDecay(lazy);
+        return net;
+    }
+
+    @ParameterizedTest(name = "decay {0}")
+    @ValueSource(doubles = {0.01, 0.001})
+    void lazyRunsLikeEager(double decay) {
+        NeuralNetwork eager = network(false, decay), lazy = network(true, decay);
+        long strengthened = 0, pruned = 0;
+        for (int i = 1; i <= 1_000; i++) {
+            TickStats a = eager.tickNeuronOnly(), b = lazy.tickNeuronOnly();
+            assertEquals(a, b, "tick " + i);
+            strengthened += a.strengthened();
+            pruned += a.pruned();
+            if (i % 200 == 0) assertCloseWeights(eager.getSynapseStore(), lazy.getSynapseStore(), i);
+        }
+        assertTrue(strengthened > 5_000, "too little Hebbian activity to compare: " + strengthened);
+        assertTrue(pruned > 1_000, "too little pruning to compare: " + pruned);
+    }
+
+    private static void assertCloseWeights(SynapseStore eager, SynapseStore lazy, int tick) {
+        assertEquals(eager.size(), lazy.size(), "slots at tick " + tick);
+        for (int e = 0; e < eager.size(); e++) {
+            assertEquals(eager.isLive(e), lazy.isLive(e), "slot " + e + " at tick " + tick);
+            if (!eager.isLive(e)) continue;
+            assertEquals(eager.target(e), lazy.target(e), "target of slot " + e + " at tick " + tick);
+            double w = eager.weight(e);
+            assertEquals(w, lazy.weight(e), w * SynapseStore.LAZY_TOLERANCE, "weight of slot " + e + " at tick " + tick);
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.neurogenesis.model;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/** The parallel tick is reproducible: same network, seed and thread count, bit-for-bit the same run. */
+class ParallelTickTest {
+    private static final int THREADS = 4;
+
+    private static NeuralNetwork network(boolean lazy) {
+        NeuralNetwork net = new NetworkBuilder(31).neurons(3_000).fanOut(8).delays(1, 3).firingRate(0.03).build();
+        net.setGrowthPolicy(new GrowthPolicy().setTargetSize(3_600).setNeuronRate(0.3)
+                .setSynapseRate(20).setSynapsesPerNeuron(10));
+        net.setPruning(40, 0.2);
+        net.setLazyDecay(lazy);
+        net.setParallelism(THREADS, 77);
+        return net;
+    }
+
+    @ParameterizedTest(name = "lazy decay {0}")
+    @ValueSource(booleans = {false, true})
+    void sameSeedSameRun(boolean lazy) {
+        NeuralNetwork a = network(lazy), b = network(lazy);
+        try {
+            assertEquals(THREADS, a.getParallelism());
+            long fired = 0;
+            for (int i = 1; i <= 1_500; i++) {
+                TickStats x = a.tickNeuronOnly(), y = b.tickNeuronOnly();
+                assertEquals(x, y, "tick " + i);
+                fired += x.fired();
+                if (i % 500 == 0) assertSameState(a, b, i);
+            }
+            assertTrue(fired > 100_000, "too little activity to compare: " + fired);
+        } finally {
+            a.setParallelism(1, 0);
+            b.setParallelism(1, 0);
+        }
+    }
+
+    private static void assertSameState(NeuralNetwork a, NeuralNetwork b, int tick) {
+        NeuronStore x = a.getNeuronStore(), y = b.getNeuronStore();
+        assertEquals(x.size(), y.size(), "neuron slots at tick " + tick);
+        for (int i = 0; i < x.size(); i++) {
+            assertEquals(x.isAlive(i), y.isAlive(i), "alive " + i + " at tick " + tick);
+            assertEquals(x.isFired(i), y.isFired(i), "fired " + i + " at tick " + tick);
+            assertEquals(x.activation(i), y.activation(i), "activation " + i + " at tick " + tick);
+            assertEquals(x.lastFiredTick(i), y.lastFiredTick(i), "last fired " + i + " at tick " + tick);
+        }
+        PruneWheelTest.assertSameSynapses(a.getSynapseStore(), b.getSynapseStore(), tick);
+    }
+}
@@ -0,0 +1,52 @@
+package com.neurogenesis.model;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/** The prune wheel against the full scan it replaces: same seeded run, same synapses pruned every tick. */
+class PruneWheelTest {
+
+    private static NeuralNetwork network(boolean wheel, boolean lazy) {
+        NeuralNetwork net = new NetworkBuilder(99).neurons(2_000).fanOut(8).firingRate(0.03).build();
+        net.setGrowthPolicy(new GrowthPolicy().setTargetSize(2_600).setNeuronRate(0.3)
+                .setSynapseRate(20).setSynapsesPerNeuron(10));
+        net.setPruning(40, 0.2);
+        net.setLazyDecay(lazy);
+        net.setPruneWheel(wheel);
+        return net;
+    }
+
+    @ParameterizedTest(name = "lazy decay {0}")
+    @ValueSource(booleans = {false, true})
+    void wheelPrunesWhatTheScanPrunes(boolean lazy) {
+        NeuralNetwork wheel = network(true, lazy), scan = network(false, lazy);
+        int layout0 = wheel.getSynapseStore().layout();
+        long pruned = 0;
+        for (int i = 1; i <= 4_000; i++) {
+            TickStats a = wheel.tickNeuronOnly(), b = scan.tickNeuronOnly();
+            assertEquals(b, a, "tick " + i);
+            pruned += a.pruned();
+            if (i % 500 == 0) assertSameSynapses(scan.getSynapseStore(), wheel.getSynapseStore(), i);
+        }
+        assertTrue(pruned > 1_000, "too little pruning to compare: " + pruned);
+        assertTrue(wheel.getSynapseStore().layout() - layout0 >= 3, "no compactions in between");
+    }
+
+    /**
+     * Slot by slot: both runs grow, prune and compact in step, so even the layout matches.
+     */
+    static void assertSameSynapses(SynapseStore expected, SynapseStore actual, int tick) {
+        assertEquals(expected.size(), actual.size(), "slots at tick " + tick);
+        assertEquals(expected.count(), actual.count(), "live synapses at tick " + tick);
+        for (int e = 0; e < expected.size(); e++) {
+            assertEquals(expected.isLive(e), actual.isLive(e), "slot " + e + " at tick " + tick);
+            if (!expected.isLive(e)) continue;
+            assertEquals(expected.source(e), actual.source(e), "source of slot " + e + " at tick " + tick);
+            assertEquals(expected.target(e), actual.target(e), "target of slot " + e + " at tick " + tick);
+            assertEquals(expected.weight(e), actual.weight(e), "weight of slot " + e + " at tick " + tick);
+        }
+    }
+}
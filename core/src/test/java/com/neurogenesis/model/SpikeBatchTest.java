@@ -0,0 +1,100 @@
+package com.neurogenesis.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.Random;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/** Wire form of the per-tick spike batches exchanged between shards. */
+class SpikeBatchTest {
+
+    /** Encodes {@code ids} (ascending), checks the size it promised and decodes it again. */
+    private static SpikeBatch roundTrip(int... ids) {
+        SpikeBatch b = new SpikeBatch();
+        for (int id : ids) b.add(id);
+        ByteBuffer buf = ByteBuffer.allocate(b.encodedBytes() + 16);
+        b.write(buf);
+        assertEquals(b.encodedBytes(), buf.position(), "encodedBytes");
+        buf.flip();
+        SpikeBatch back = new SpikeBatch();
+        back.read(buf);
+        assertEquals(0, buf.remaining(), "bytes left over");
+        assertEquals(ids.length, back.size());
+        for (int k = 0; k < ids.length; k++) assertEquals(ids[k], back.get(k), "id " + k);
+        return back;
+    }
+
+    private static int[] randomIds(Random rnd, int range, double density) {
+        TreeSet<Integer> s = new TreeSet<>();
+        for (int i = 0; i < range; i++) if (rnd.nextDouble() < density) s.add(i);
+        return s.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    @Test
+    void emptyAndSingleBatches() {
+        roundTrip();
+        roundTrip(0);
+        roundTrip(63);
+        roundTrip(64);
+        roundTrip(Integer.MAX_VALUE); // five-byte varint gap
+    }
+
+    @Test
+    void sparseAndDenseFiringRoundTrip() {
+        Random rnd = new Random(3);
+        for (double density : new double[] {0.0005, 0.01, 0.1, 0.5, 1.0}) {
+            for (int trial = 0; trial < 20; trial++) roundTrip(randomIds(rnd, 50_000, density));
+        }
+    }
+
+    @Test
+    void denseBatchesUseTheBitset() {
+        int[] all = new int[640];
+        for (int i = 0; i < all.length; i++) all[i] = 1_000 + i;
+        SpikeBatch b = new SpikeBatch();
+        for (int id : all) b.add(id);
+        // gaps: one byte per id; bitset: 8 bytes per 64 ids plus a small header
+        assertTrue(b.encodedBytes() < all.length / 4, "bitset chosen: " + b.encodedBytes());
+        roundTrip(all);
+    }
+
+    @Test
+    void batchesAppendOnRead() {
+        ByteBuffer buf = ByteBuffer.allocate(256);
+        SpikeBatch a = new SpikeBatch(), b = new SpikeBatch();
+        a.add(1); a.add(5);
+        b.add(2); b.add(900);
+        a.write(buf);
+        b.write(buf);
+        buf.flip();
+        SpikeBatch all = new SpikeBatch();
+        all.read(buf);
+        all.read(buf);
+        assertEquals(4, all.size());
+        assertEquals(5, all.get(1));
+        assertEquals(2, all.get(2));
+        assertEquals(900, all.get(3));
+    }
+
+    @Test
+    void unknownEncodingIsRejected() {
+        ByteBuffer buf = ByteBuffer.wrap(new byte[] {7, 0});
+        assertThrows(IllegalArgumentException.class, () -> new SpikeBatch().read(buf));
+    }
+
+    @Test
+    void varints() {
+        for (int v : new int[] {0, 1, 127, 128, 16_383, 16_384, 2_097_151, 2_097_152, 268_435_455, 268_435_456, Integer.MAX_VALUE}) {
+            ByteBuffer buf = ByteBuffer.allocate(8);
+            SpikeBatch.putVarint(buf, v);
+            assertEquals(SpikeBatch.varintBytes(v), buf.position(), "length of " + v);
+            buf.flip();
+            assertEquals(v, SpikeBatch.getVarint(buf));
+        }
+    }
+}
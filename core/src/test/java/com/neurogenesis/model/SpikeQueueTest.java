@@ -0,0 +1,85 @@
+package com.neurogenesis.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/** The calendar queue against a plain list of (due tick, target, amount). */
+class SpikeQueueTest {
+    private static final int NEURONS = 64;
+
+    private record Spike(int due, int target, double amount) {}
+
+    /** Sums what the reference list delivers at {@code tick}, in queueing order, and removes it. */
+    private static double[] deliver(List<Spike> ref, int tick) {
+        double[] in = new double[NEURONS];
+        ref.removeIf(s -> {
+            if (s.due() != tick) return false;
+            in[s.target()] += s.amount();
+            return true;
+        });
+        return in;
+    }
+
+    @Test
+    void spikesArriveOnTheirDueTickInQueueOrder() {
+        SpikeQueue q = new SpikeQueue();
+        List<Spike> ref = new ArrayList<>();
+        Random rnd = new Random(7);
+        for (int tick = 1; tick <= 3_000; tick++) {
+            // the tick's own bucket is drained after propagation queued into it (delay 1)
+            int sent = rnd.nextInt(20);
+            for (int k = 0; k < sent; k++) {
+                // mostly short delays, now and then a long one that widens the ring
+                int delay = rnd.nextInt(10) == 0 ? 1 + rnd.nextInt(tick < 1_500 ? 40 : SpikeQueue.MAX_DELAY) : 1 + rnd.nextInt(4);
+                int t = rnd.nextInt(NEURONS);
+                double a = rnd.nextDouble();
+                q.schedule(tick, delay, t, a);
+                ref.add(new Spike(tick + delay - 1, t, a));
+            }
+            int due = ref.size();
+            double[] expected = deliver(ref, tick), in = new double[NEURONS];
+            due -= ref.size();
+            assertEquals(due, q.drain(tick, in), "arrivals at tick " + tick);
+            assertArrayEquals(expected, in, "tick " + tick);
+            assertEquals(ref.size(), q.pending(), "pending after tick " + tick);
+        }
+    }
+
+    @Test
+    void checkpointSectionRoundTrips() {
+        SpikeQueue q = new SpikeQueue();
+        Random rnd = new Random(11);
+        int tick = 100;
+        for (int k = 0; k < 500; k++) q.schedule(tick, 1 + rnd.nextInt(300), rnd.nextInt(NEURONS), rnd.nextDouble());
+        q.drain(tick, new double[NEURONS]); // what a saved tick has already delivered
+
+        ByteBuffer buf = ByteBuffer.allocate((int) SpikeQueue.savedBytes(q.pending())).order(ByteOrder.LITTLE_ENDIAN);
+        q.save(buf, tick);
+        buf.flip();
+        SpikeQueue back = new SpikeQueue();
+        back.load(buf, q.pending(), tick, NEURONS);
+        assertEquals(q.pending(), back.pending());
+        for (int t = tick + 1; t <= tick + 300; t++) {
+            double[] a = new double[NEURONS], b = new double[NEURONS];
+            assertEquals(q.drain(t, a), back.drain(t, b), "arrivals at tick " + t);
+            assertArrayEquals(a, b, "tick " + t);
+        }
+        assertEquals(0, back.pending());
+    }
+
+    @Test
+    void corruptSectionIsRejected() {
+        ByteBuffer buf = ByteBuffer.allocate((int) SpikeQueue.savedBytes(1)).order(ByteOrder.LITTLE_ENDIAN);
+        buf.putInt(5).putInt(3).putDouble(1.0).flip(); // due tick 5 is not after tick 10
+        assertThrows(IllegalArgumentException.class, () -> new SpikeQueue().load(buf, 1, 10, NEURONS));
+    }
+}
@@ -0,0 +1,195 @@
+package com.neurogenesis.ui;
+
+import com.neurogenesis.engine.SimulationEngine;
+import com.neurogenesis.model.NeuralNetwork;
+import com.neurogenesis.model.TickEvents;
+import com.neurogenesis.model.TickMetrics;
+import javafx.animation.AnimationTimer;
+import javafx.application.Application;
+import javafx.application.Platform;
+import javafx.geometry.Insets;
+import javafx.scene.Scene;
+import javafx.scene.control.*;
+import javafx.scene.layout.*;
+import javafx.stage.Stage;
+
+import javax.management.JMException;
+
+public class App extends Application {
+    private final NeuralNetwork net = new NeuralNetwork();
+    private final SimulationEngine engine = new SimulationEngine(net);
+    private static final int LOG_LINES_PER_FRAME = 200;
+
+    private TextArea logArea;
+    private Label throughput;
+    private NetworkView view;
+    // tick events drained once per frame; only the newest lines of a frame are formatted
+    private final TickEvents.Reader events = net.events().newReader(1024);
+    private final StringBuilder pendingLog = new StringBuilder();
+    private final String[] frameLines = new String[LOG_LINES_PER_FRAME];
+    private final ForceLayout layout = new ForceLayout(net);
+
+    @Override
+    public void start(Stage stage) {
+        net.seed();
+        // the view only ever reads published snapshots
+        net.setSnapshotPublishing(true);
+        net.publishSnapshot();
+
+        // Left controls
+        VBox controls = new VBox(10);
+        controls.setPadding(new Insets(12));
+        controls.setPrefWidth(280);
+
+        Button start = new Button("Start");
+        Button freeRun = new Button("Free Run");
+        Button step  = new Button("Step Once");
+        Button stop  = new Button("Stop");
+        Button shuffle = new Button("Shuffle Door Costs");
+
+        Slider speed = new Slider(50, 1000, 250);
+        speed.setShowTickMarks(true); speed.setShowTickLabels(true);
+        speed.setBlockIncrement(50);
+        Label speedLbl = new Label("Tick (ms):");
+
+        // Free run: as fast as possible (0) or throttled; the UI still sees ~30 frames/s
+        Label rateLbl = new Label("Free run max ticks/s (0 = unlimited):");
+        Spinner<Integer> maxRate = new Spinner<>(0, 1_000_000, 0, 100);
+        maxRate.setEditable(true);
+        maxRate.valueProperty().addListener((o,ov,nv) -> engine.setTargetTicksPerSecond(nv));
+        throughput = new Label("");
+
+        // Mode toggle
+        CheckBox neuronOnly = new CheckBox("Neuron-Only Mode (biological-like)");
+        neuronOnly.setSelected(true);
+        neuronOnly.selectedProperty().addListener((obs, oldV, on) -> engine.setModeNeuronOnly(on));
+
+        // Phase timers, readable over JMX (jconsole: com.neurogenesis / TickMetrics) and dumped to stdout
+        CheckBox profile = new CheckBox("Profile ticks (JMX)");
+        profile.selectedProperty().addListener((obs, oldV, on) -> setProfiling(on));
+
+        // Optional: curiosity rate (only relevant in doors demo)
+        Label curLbl = new Label("Curiosity (doors demo):");
+        Slider curiosity = new Slider(0.0, 1.0, 0.25);
+        curiosity.setShowTickMarks(true); curiosity.setShowTickLabels(true);
+        curiosity.valueProperty().addListener((o,ov,nv) -> engine.setCuriosityRate(nv.doubleValue()));
+
+        start.setOnAction(e -> engine.start((long)speed.getValue()));
+        freeRun.setOnAction(e -> engine.startFreeRun(maxRate.getValue()));
+        step.setOnAction(e -> engine.stepOnce());
+        stop.setOnAction(e -> engine.stop());
+        shuffle.setOnAction(e -> {
+            engine.shuffleScenario();
+            appendLog("[~] Shuffled door costs\n");
+        });
+
+        controls.getChildren().addAll(
+                start, step, stop,
+                speedLbl, speed,
+                freeRun, rateLbl, maxRate, throughput,
+                neuronOnly, profile,
+                curLbl, curiosity,
+                shuffle
+        );
+
+        // Center: graph view
+        view = new NetworkView(net, layout);
+        layout.start();
+        Pane center = new StackPane(view);
+        center.setPrefSize(720, 480);
+        center.setStyle("-fx-background-color: #f5f7fb;");
+
+        // Bottom logs
+        logArea = new TextArea();
+        logArea.setEditable(false);
+        logArea.setPrefRowCount(8);
+
+        BorderPane root = new BorderPane();
+        root.setLeft(controls);
+        root.setCenter(center);
+        root.setBottom(logArea);
+
+        Scene scene = new Scene(root, 1040, 700);
+        stage.setTitle("Biological-Style Neural Prototype (spiking + Hebbian + pruning)");
+        stage.setScene(scene);
+        stage.show();
+
+        // Repaint and flush the log at most once per frame (~60fps)
+        new AnimationTimer() {
+            @Override public void handle(long now) {
+                view.redraw();
+                drainLog();
+                throughput.setText(engine.isFreeRunning()
+                        ? String.format("%,.0f ticks/s", engine.getTicksPerSecond()) : "");
+            }
+        }.start();
+
+        stage.setOnCloseRequest(e -> {
+            setProfiling(false);
+            engine.shutdown();
+            layout.stop();
+            Platform.exit();
+        });
+    }
+
+    private void setProfiling(boolean on) {
+        TickMetrics old = net.getMetrics();
+        if (old != null) {
+            old.stopDump();
+            old.unregister();
+        }
+        net.setMetrics(null);
+        if (!on) return;
+        TickMetrics m = new TickMetrics();
+        try {
+            m.register("ui");
+        } catch (JMException ex) {
+            appendLog("[!] JMX registration failed: " + ex.getMessage() + "\n");
+        }
+        m.startDump(10_000, System.out::println);
+        net.setMetrics(m);
+    }
+
+    // FX thread only
+    private void appendLog(String msg) {
+        pendingLog.append(msg);
+    }
+
+    /**
+     * Pulls every event published since the last frame. Only the newest
+     * LOG_LINES_PER_FRAME lines are formatted; older ones collapse into a
+     * single "skipped" line. One TextArea update per frame.
+     */
+    private void drainLog() {
+        int total = 0, kept = 0, next = 0;
+        long droppedBefore = events.dropped();
+        StringBuilder line = new StringBuilder(96);
+        for (int n; (n = events.poll()) > 0; ) {
+            for (int k = Math.max(0, n - LOG_LINES_PER_FRAME); k < n; k++) {
+                line.setLength(0);
+                events.format(k, line);
+                frameLines[next] = line.toString();
+                next = (next + 1) % LOG_LINES_PER_FRAME;
+                kept = Math.min(kept + 1, LOG_LINES_PER_FRAME);
+            }
+            total += n;
+        }
+        long skipped = (total - kept) + (events.dropped() - droppedBefore);
+        if (skipped > 0) pendingLog.append("[~] ").append(skipped).append(" earlier events skipped\n");
+        for (int k = 0; k < kept; k++) {
+            pendingLog.append(frameLines[(next - kept + k + LOG_LINES_PER_FRAME) % LOG_LINES_PER_FRAME]);
+        }
+        if (pendingLog.length() == 0) return;
+
+        logArea.appendText(pendingLog.toString());
+        pendingLog.setLength(0);
+        if (logArea.getLength() > 12000) {
+            logArea.deleteText(0, logArea.getLength() - 8000);
+        }
+    }
+
+    public static void main(String[] args) {
+        launch(args);
+    }
+}
+
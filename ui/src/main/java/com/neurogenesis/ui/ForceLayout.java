@@ -0,0 +1,289 @@
+package com.neurogenesis.ui;
+
+import com.neurogenesis.model.NetworkSnapshot;
+import com.neurogenesis.model.NeuralNetwork;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Incremental force-directed layout on its own daemon thread.
+ *
+ * Follows the published {@link NetworkSnapshot}s: neurons that appear are
+ * placed next to a neuron that feeds them (the one that grew them), removed
+ * ones simply drop out. Each step is Fruchterman-Reingold with springs on
+ * synapses, a weak pull to the origin, and Barnes-Hut repulsion over a
+ * quadtree, so one step is O(N log N + E). The temperature caps how far a
+ * node moves per step; it cools down and is raised again when the structure
+ * changes, so the layout settles and then idles.
+ *
+ * Positions are indexed by neuron slot and published as an immutable
+ * {@link Positions} through a volatile field; the FX thread only reads them.
+ */
+public class ForceLayout {
+    /** Layout coordinates by neuron slot; {@code placed[i]} is false for slots the layout has not seen yet. */
+    public record Positions(long version, double[] x, double[] y, boolean[] placed) {
+        public boolean has(int slot) { return slot < placed.length && placed[slot]; }
+    }
+
+    private static final double K = 50;             // ideal synapse length
+    private static final double GRAVITY = 0.02;
+    private static final double THETA = 0.9;        // Barnes-Hut opening angle
+    private static final double HOT = 4 * K, WARM = K, COOL = 0.97, MIN_TEMP = 0.5;
+    private static final long PUBLISH_NANOS = 16_000_000L;
+    private static final int MAX_DEPTH = 32;
+
+    private final NeuralNetwork net;
+    private final SplittableRandom rnd = new SplittableRandom(7);
+    private volatile Positions published = new Positions(0, new double[0], new double[0], new boolean[0]);
+    private volatile boolean running;
+    private Thread worker;
+
+    // layout state, touched only by the worker thread
+    private double[] x = new double[0], y = new double[0], fx = new double[0], fy = new double[0];
+    private boolean[] placed = new boolean[0];
+    private int[] nodes = new int[0];                 // slots of alive neurons
+    private int nodeCount;
+    private int[] edgeA = new int[0], edgeB = new int[0];
+    private int edgeCount;
+    private int seenTick = -1;
+    private double temp = HOT;
+    private long version;
+
+    // quadtree, rebuilt every step into reused arrays
+    private int cells;
+    private double[] cellX = new double[0], cellY = new double[0], half = new double[0];
+    private double[] mass = new double[0], comX = new double[0], comY = new double[0];
+    private int[] body = new int[0], child = new int[0], stack = new int[64];
+
+    public ForceLayout(NeuralNetwork net) { this.net = net; }
+
+    public Positions positions() { return published; }
+
+    public synchronized void start() {
+        if (worker != null) return;
+        running = true;
+        worker = new Thread(this::run, "force-layout");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    public synchronized void stop() {
+        running = false;
+        if (worker != null) worker.interrupt();
+        worker = null;
+    }
+
+    private void run() {
+        long lastPublish = 0;
+        while (running) {
+            boolean changed = sync();
+            if (temp <= MIN_TEMP && !changed) {
+                try { Thread.sleep(30); } catch (InterruptedException e) { return; }
+                continue;
+            }
+            step();
+            long now = System.nanoTime();
+            if (now - lastPublish >= PUBLISH_NANOS || temp <= MIN_TEMP) {
+                publish();
+                lastPublish = now;
+            }
+        }
+    }
+
+    // --- follow the latest snapshot; returns whether neurons or synapses changed
+    private boolean sync() {
+        NetworkSnapshot s = net.snapshots().acquire();
+        if (s == null) return false;
+        try {
+            if (s.tick() == seenTick) return false;
+            seenTick = s.tick();
+            ensureSlots(s.slotCount());
+
+            int n = s.neuronCount(), m = s.edgeCount();
+            boolean structural = n != nodeCount || m != edgeCount;
+            if (nodes.length < n) nodes = new int[Math.max(n, nodes.length * 2)];
+            if (edgeA.length < m) {
+                edgeA = new int[Math.max(m, edgeA.length * 2)];
+                edgeB = new int[edgeA.length];
+            }
+            for (int k = 0; k < n; k++) nodes[k] = s.neuronSlot(k);
+            for (int j = 0; j < m; j++) {
+                edgeA[j] = s.neuronSlot(s.edgeFrom(j));
+                edgeB[j] = s.neuronSlot(s.edgeTo(j));
+            }
+            nodeCount = n;
+            edgeCount = m;
+
+            // new neurons go next to a placed neuron that feeds them
+            int fresh = 0;
+            for (int j = 0; j < m; j++) {
+                int a = edgeA[j], b = edgeB[j];
+                if (placed[b] || !placed[a]) continue;
+                placeNear(b, x[a], y[a]);
+                fresh++;
+            }
+            double spread = K * Math.sqrt(Math.max(n, 1));
+            for (int k = 0; k < n; k++) {
+                int i = nodes[k];
+                if (placed[i]) continue;
+                placeNear(i, (rnd.nextDouble() - 0.5) * spread, (rnd.nextDouble() - 0.5) * spread);
+                fresh++;
+            }
+            if (fresh > 0 || structural) temp = Math.max(temp, fresh > n / 2 ? HOT : WARM);
+            return fresh > 0 || structural;
+        } finally {
+            s.release();
+        }
+    }
+
+    private void placeNear(int i, double cx, double cy) {
+        double a = rnd.nextDouble() * 2 * Math.PI;
+        x[i] = cx + Math.cos(a) * K * 0.5;
+        y[i] = cy + Math.sin(a) * K * 0.5;
+        placed[i] = true;
+    }
+
+    // --- one Fruchterman-Reingold step
+    private void step() {
+        int n = nodeCount;
+        if (n == 0) return;
+        buildTree();
+
+        double k2 = K * K;
+        for (int q = 0; q < n; q++) {
+            int i = nodes[q];
+            fx[i] = -GRAVITY * x[i];
+            fy[i] = -GRAVITY * y[i];
+            repel(i, k2);
+        }
+        // attraction along synapses: d^2 / K
+        for (int j = 0; j < edgeCount; j++) {
+            int a = edgeA[j], b = edgeB[j];
+            double dx = x[b] - x[a], dy = y[b] - y[a];
+            double d = Math.sqrt(dx*dx + dy*dy);
+            if (d < 1e-9) continue;
+            double f = d / K;
+            fx[a] += dx * f; fy[a] += dy * f;
+            fx[b] -= dx * f; fy[b] -= dy * f;
+        }
+        // move, capped by the temperature
+        for (int q = 0; q < n; q++) {
+            int i = nodes[q];
+            double d = Math.sqrt(fx[i]*fx[i] + fy[i]*fy[i]);
+            if (d < 1e-9) continue;
+            double s = Math.min(d, temp) / d;
+            x[i] += fx[i] * s;
+            y[i] += fy[i] * s;
+        }
+        temp = Math.max(MIN_TEMP, temp * COOL);
+    }
+
+    // repulsion k^2 / d from every other node, far cells as one mass at their centre
+    private void repel(int i, double k2) {
+        double xi = x[i], yi = y[i];
+        int sp = 0;
+        stack[sp++] = 0;
+        while (sp > 0) {
+            int c = stack[--sp];
+            double m = mass[c];
+            if (m == 0) continue;
+            double dx = xi - comX[c], dy = yi - comY[c];
+            double d2 = dx*dx + dy*dy;
+            boolean leaf = body[c] != -2;
+            if (leaf || 4 * half[c] * half[c] < THETA * THETA * d2) {
+                if (leaf && body[c] == i) {
+                    if (m == 1) continue;
+                    m -= 1; // a bucket of coincident points that includes this one
+                }
+                if (d2 < 1e-4) {
+                    // coincident: push apart in a random direction
+                    dx = rnd.nextDouble() - 0.5;
+                    dy = rnd.nextDouble() - 0.5;
+                    d2 = dx*dx + dy*dy;
+                }
+                double f = k2 * m / d2;
+                fx[i] += dx * f;
+                fy[i] += dy * f;
+                continue;
+            }
+            if (sp + 4 > stack.length) stack = Arrays.copyOf(stack, stack.length * 2);
+            for (int q = 0; q < 4; q++) {
+                int ch = child[4*c + q];
+                if (ch >= 0) stack[sp++] = ch;
+            }
+        }
+    }
+
+    // --- Barnes-Hut quadtree: body = -1 empty leaf, >= 0 leaf (bucket at max depth), -2 inner cell
+    private void buildTree() {
+        double minX = Double.MAX_VALUE, minY = Double.MAX_VALUE, maxX = -Double.MAX_VALUE, maxY = -Double.MAX_VALUE;
+        for (int q = 0; q < nodeCount; q++) {
+            int i = nodes[q];
+            minX = Math.min(minX, x[i]); maxX = Math.max(maxX, x[i]);
+            minY = Math.min(minY, y[i]); maxY = Math.max(maxY, y[i]);
+        }
+        cells = 0;
+        newCell((minX + maxX) / 2, (minY + maxY) / 2, Math.max(maxX - minX, maxY - minY) / 2 + 1);
+        for (int q = 0; q < nodeCount; q++) insert(nodes[q]);
+    }
+
+    private void insert(int b) {
+        double bx = x[b], by = y[b];
+        int c = 0;
+        for (int depth = 0; ; depth++) {
+            double m = mass[c];
+            comX[c] = (comX[c] * m + bx) / (m + 1);
+            comY[c] = (comY[c] * m + by) / (m + 1);
+            mass[c] = m + 1;
+            if (body[c] == -1) { body[c] = b; return; }
+            if (body[c] >= 0) {
+                if (depth >= MAX_DEPTH) return;
+                // split the leaf: its body moves one level down
+                int old = body[c];
+                body[c] = -2;
+                int oc = childAt(c, x[old], y[old]);
+                mass[oc] = 1; comX[oc] = x[old]; comY[oc] = y[old]; body[oc] = old;
+            }
+            c = childAt(c, bx, by);
+        }
+    }
+
+    private int childAt(int c, double px, double py) {
+        int q = (px >= cellX[c] ? 1 : 0) | (py >= cellY[c] ? 2 : 0);
+        int ch = child[4*c + q];
+        if (ch < 0) {
+            double h = half[c] / 2;
+            ch = newCell(cellX[c] + ((q & 1) != 0 ? h : -h), cellY[c] + ((q & 2) != 0 ? h : -h), h);
+            child[4*c + q] = ch;
+        }
+        return ch;
+    }
+
+    private int newCell(double cx, double cy, double h) {
+        if (cells == mass.length) {
+            int cap = Math.max(64, cells * 2);
+            cellX = Arrays.copyOf(cellX, cap); cellY = Arrays.copyOf(cellY, cap); half = Arrays.copyOf(half, cap);
+            mass = Arrays.copyOf(mass, cap); comX = Arrays.copyOf(comX, cap); comY = Arrays.copyOf(comY, cap);
+            body = Arrays.copyOf(body, cap); child = Arrays.copyOf(child, 4 * cap);
+        }
+        int c = cells++;
+        cellX[c] = cx; cellY[c] = cy; half[c] = h;
+        mass[c] = 0; comX[c] = 0; comY[c] = 0;
+        body[c] = -1;
+        Arrays.fill(child, 4*c, 4*c + 4, -1);
+        return c;
+    }
+
+    private void ensureSlots(int n) {
+        if (x.length >= n) return;
+        int cap = Math.max(n, x.length * 2);
+        x = Arrays.copyOf(x, cap); y = Arrays.copyOf(y, cap);
+        fx = Arrays.copyOf(fx, cap); fy = Arrays.copyOf(fy, cap);
+        placed = Arrays.copyOf(placed, cap);
+    }
+
+    private void publish() {
+        published = new Positions(++version, x.clone(), y.clone(), placed.clone());
+    }
+}
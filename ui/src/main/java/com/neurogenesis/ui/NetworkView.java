@@ -0,0 +1,201 @@
+package com.neurogenesis.ui;
+
+import com.neurogenesis.model.NetworkSnapshot;
+import com.neurogenesis.model.NeuralNetwork;
+import com.neurogenesis.model.Neuron;
+import com.neurogenesis.model.TickMetrics;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.control.Tooltip;
+import javafx.scene.input.MouseEvent;
+import javafx.scene.layout.Pane;
+import javafx.scene.paint.Color;
+
+import java.util.Arrays;
+
+/**
+ * Immediate-mode view: one Canvas repainted from the latest snapshot, and
+ * only when a new tick or layout was published or the view was resized. No
+ * scene nodes per neuron or synapse; the tooltip comes from hit-testing the
+ * nodes of the last painted frame. Positions come from a {@link ForceLayout}
+ * running on its own thread and are scaled to fit the view.
+ */
+public class NetworkView extends Pane {
+    private static final double MARGIN = 30;
+
+    private final NeuralNetwork net;
+    private final ForceLayout layout;
+    private final Canvas canvas = new Canvas();
+    private final Tooltip tip = new Tooltip();
+
+    // what the last frame painted, for hit-testing
+    private int drawnTick = -1;
+    private long drawnLayout = -1;
+    private boolean dirty = true;
+    private int hitCount = 0;
+    private double[] hitX = new double[0], hitY = new double[0], hitR = new double[0], hitAct = new double[0];
+    private String[] hitLabel = new String[0], hitId = new String[0];
+    private int hovered = -1;
+
+    // per-frame screen coordinates, by snapshot neuron number
+    private double[] sx = new double[0], sy = new double[0];
+    private boolean[] shown = new boolean[0];
+
+    public NetworkView(NeuralNetwork net, ForceLayout layout) {
+        this.net = net;
+        this.layout = layout;
+        getChildren().add(canvas);
+        widthProperty().addListener((o, ov, nv) -> dirty = true);
+        heightProperty().addListener((o, ov, nv) -> dirty = true);
+        canvas.addEventHandler(MouseEvent.MOUSE_MOVED, this::onHover);
+        canvas.addEventHandler(MouseEvent.MOUSE_EXITED, e -> { hovered = -1; tip.hide(); });
+    }
+
+    @Override protected void layoutChildren() {
+        canvas.setWidth(getWidth());
+        canvas.setHeight(getHeight());
+    }
+
+    /** Paints the latest snapshot; returns at once if that tick and layout were already painted. */
+    public void redraw() {
+        NetworkSnapshot snap = net.snapshots().acquire();
+        if (snap == null) return;
+        try {
+            ForceLayout.Positions pos = layout.positions();
+            if (snap.tick() == drawnTick && pos.version() == drawnLayout && !dirty) return;
+            TickMetrics m = net.getMetrics();
+            long t0 = m != null ? TickMetrics.now() : 0;
+            draw(snap, pos);
+            if (m != null) m.lap(TickMetrics.Phase.REDRAW, t0);
+            drawnTick = snap.tick();
+            drawnLayout = pos.version();
+            dirty = false;
+        } finally {
+            snap.release();
+        }
+    }
+
+    private void draw(NetworkSnapshot s, ForceLayout.Positions pos) {
+        GraphicsContext g = canvas.getGraphicsContext2D();
+        double w = canvas.getWidth(), h = canvas.getHeight();
+        g.clearRect(0, 0, w, h);
+
+        // screen positions: layout coordinates scaled to fit; neurons the layout has not placed yet are skipped
+        int n = s.neuronCount();
+        ensureScreen(n);
+        double minX = Double.MAX_VALUE, minY = Double.MAX_VALUE, maxX = -Double.MAX_VALUE, maxY = -Double.MAX_VALUE;
+        for (int k = 0; k < n; k++) {
+            int i = s.neuronSlot(k);
+            if (!pos.has(i)) continue;
+            minX = Math.min(minX, pos.x()[i]); maxX = Math.max(maxX, pos.x()[i]);
+            minY = Math.min(minY, pos.y()[i]); maxY = Math.max(maxY, pos.y()[i]);
+        }
+        double scale = Math.min((w - 2*MARGIN) / Math.max(maxX - minX, 1), (h - 2*MARGIN) / Math.max(maxY - minY, 1));
+        scale = Math.max(1e-3, Math.min(scale, 2.0));
+        double ox = (w - (maxX - minX) * scale) / 2 - minX * scale;
+        double oy = (h - (maxY - minY) * scale) / 2 - minY * scale;
+        for (int k = 0; k < n; k++) {
+            int i = s.neuronSlot(k);
+            shown[k] = pos.has(i);
+            if (!shown[k]) continue;
+            sx[k] = ox + pos.x()[i] * scale;
+            sy[k] = oy + pos.y()[i] * scale;
+        }
+        // nodes shrink with the zoom so large networks stay readable
+        double zoom = Math.max(0.15, Math.min(1.0, scale));
+
+        int t = s.tick();
+
+        // draw edges first: idle ones, then those used this tick on top
+        g.setStroke(Color.GRAY);
+        drawEdges(g, s, t, false);
+        g.setStroke(Color.DODGERBLUE);
+        drawEdges(g, s, t, true);
+
+        // draw nodes, fire = orange, recent fire = gold fade, otherwise green/grey
+        ensureHits(n);
+        g.setLineWidth(2.0);
+        g.setStroke(Color.BLACK);
+        int hits = 0;
+        for (int k = 0; k < n; k++) {
+            if (!shown[k]) continue;
+            boolean output = s.role(k) == Neuron.Role.OUTPUT;
+            double r = (output ? 18 : 14) * zoom;
+
+            Color fill;
+            if (s.isFired(k)) {
+                fill = Color.ORANGE;
+            } else {
+                int ago = t - s.lastFiredTick(k);
+                if (ago >= 0 && ago < 8) fill = Color.GOLD; // recent fire glow
+                else if (s.activation(k) == 0.0) fill = Color.DARKSLATEGRAY;
+                else fill = Color.SEAGREEN;
+            }
+            g.setFill(fill);
+            g.fillOval(sx[k] - r, sy[k] - r, 2*r, 2*r);
+            // outline OUTPUT neurons lightly (doors demo, optional), and INPUT neurons
+            if (output || s.role(k) == Neuron.Role.INPUT) g.strokeOval(sx[k] - r, sy[k] - r, 2*r, 2*r);
+
+            hitX[hits] = sx[k]; hitY[hits] = sy[k]; hitR[hits] = Math.max(r, 4);
+            hitAct[hits] = s.activation(k);
+            hitLabel[hits] = s.label(k);
+            hitId[hits] = s.neuronId(k);
+            hits++;
+        }
+        hitCount = hits;
+        if (hovered >= 0) refreshTip();
+    }
+
+    private void drawEdges(GraphicsContext g, NetworkSnapshot s, int t, boolean usedNow) {
+        for (int j = 0, m = s.edgeCount(); j < m; j++) {
+            if ((s.edgeLastUsed(j) == t) != usedNow) continue;
+            int a = s.edgeFrom(j), b = s.edgeTo(j);
+            if (!shown[a] || !shown[b]) continue;
+            g.setLineWidth(Math.max(1.0, s.edgeWeight(j)*3.2));
+            g.strokeLine(sx[a], sy[a], sx[b], sy[b]);
+        }
+    }
+
+    // --- tooltip by hit-testing the last painted frame (topmost node wins)
+    private void onHover(MouseEvent e) {
+        int hit = -1;
+        for (int k = hitCount - 1; k >= 0; k--) {
+            double dx = e.getX() - hitX[k], dy = e.getY() - hitY[k];
+            if (dx*dx + dy*dy <= hitR[k]*hitR[k]) { hit = k; break; }
+        }
+        if (hit < 0) {
+            hovered = -1;
+            tip.hide();
+            return;
+        }
+        boolean moved = hit != hovered;
+        hovered = hit;
+        refreshTip();
+        if (moved || !tip.isShowing()) tip.show(canvas, e.getScreenX() + 12, e.getScreenY() + 12);
+    }
+
+    private void refreshTip() {
+        if (hovered >= hitCount) { hovered = -1; tip.hide(); return; }
+        String lbl = (hitLabel[hovered] != null ? hitLabel[hovered]+" / " : "") + hitId[hovered];
+        tip.setText(lbl + String.format("  act=%.2f", hitAct[hovered]));
+    }
+
+    private void ensureScreen(int n) {
+        if (sx.length >= n) return;
+        int cap = Math.max(n, sx.length * 2);
+        sx = new double[cap];
+        sy = new double[cap];
+        shown = new boolean[cap];
+    }
+
+    private void ensureHits(int n) {
+        if (hitX.length >= n) return;
+        int cap = Math.max(n, hitX.length * 2);
+        hitX = Arrays.copyOf(hitX, cap);
+        hitY = Arrays.copyOf(hitY, cap);
+        hitR = Arrays.copyOf(hitR, cap);
+        hitAct = Arrays.copyOf(hitAct, cap);
+        hitLabel = Arrays.copyOf(hitLabel, cap);
+        hitId = Arrays.copyOf(hitId, cap);
+    }
+}